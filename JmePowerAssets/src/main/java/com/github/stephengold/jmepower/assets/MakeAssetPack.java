@@ -0,0 +1,223 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower.assets;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Heart;
+import jme3utilities.MyString;
+
+/**
+ * A console application to pack a tree of asset resources into a single file,
+ * for use with {@code com.github.stephengold.jmepower.PackLocator}.
+ * <p>
+ * The first argument is the root of the tree to pack, the second is the pack
+ * file to write. The pack format is: the magic number 0x4A50414B ("JPAK"), a
+ * format version (short), the entry alignment (short), and an entry count
+ * (int), followed by the index. Each index entry consists of an asset path
+ * (modified UTF-8), a data offset (long), and a data length (long). The data
+ * region follows the index, starting at the first aligned position. Offsets
+ * are relative to the start of the data region, and each entry's data starts
+ * at an aligned offset.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class MakeAssetPack {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * magic number at the start of every pack ("JPAK")
+     */
+    final private static int magicNumber = 0x4A50414B;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(MakeAssetPack.class.getName());
+    /**
+     * alignment of each entry's data (in bytes, a power of 2)
+     */
+    final private static short alignment = 16;
+    /**
+     * pack format version
+     */
+    final private static short formatVersion = 1;
+    // *************************************************************************
+    // fields
+
+    /**
+     * map asset paths to files, in lexicographic order
+     */
+    final private static Map<String, Path> fileMap = new TreeMap<>();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private MakeAssetPack() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the MakeAssetPack application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        // Mute the chatty loggers found in some imported packages:
+        Heart.setLoggingLevels(Level.WARNING);
+
+        if (arguments.length != 2) {
+            System.err.println(
+                    "Usage: MakeAssetPack <resourcesDir> <packFile>");
+            System.exit(1);
+        }
+        String rootPath = arguments[0];
+        String packPath = arguments[1];
+
+        try {
+            scan(Paths.get(rootPath));
+            write(new File(packPath));
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+
+        logger.log(Level.INFO, "packed {0} entries into {1}", new Object[]{
+            fileMap.size(), MyString.quote(packPath)
+        });
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Round the specified position up to the next aligned position.
+     *
+     * @param position the position (in bytes, &ge;0)
+     * @return the aligned position (in bytes, &ge;position)
+     */
+    private static long align(long position) {
+        long result = (position + alignment - 1) & -alignment;
+        return result;
+    }
+
+    /**
+     * Write zeros to pad the specified stream to an aligned position.
+     *
+     * @param output the stream to pad (not null)
+     * @param position the current position in the stream (in bytes, &ge;0)
+     * @return the aligned position (in bytes)
+     * @throws IOException if the stream can't be written
+     */
+    private static long pad(OutputStream output, long position)
+            throws IOException {
+        long result = align(position);
+        for (long i = position; i < result; ++i) {
+            output.write(0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Record every file in the specified tree.
+     *
+     * @param root the root of the tree (not null)
+     * @throws IOException if the tree can't be walked
+     */
+    private static void scan(final Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(
+                    Path file, BasicFileAttributes attributes) {
+                String relative = root.relativize(file).toString();
+                String assetPath = relative.replace('\\', '/');
+                fileMap.put(assetPath, file);
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Write the recorded files to the specified pack file.
+     *
+     * @param file the file to write (not null)
+     * @throws IOException if a file can't be read or written
+     */
+    private static void write(File file) throws IOException {
+        // Assemble the header and index in memory.
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        index.writeInt(magicNumber);
+        index.writeShort(formatVersion);
+        index.writeShort(alignment);
+        index.writeInt(fileMap.size());
+        long offset = 0L;
+        for (Map.Entry<String, Path> entry : fileMap.entrySet()) {
+            long length = Files.size(entry.getValue());
+            index.writeUTF(entry.getKey());
+            index.writeLong(offset);
+            index.writeLong(length);
+            offset = align(offset + length);
+        }
+        index.flush();
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (OutputStream output
+                = new BufferedOutputStream(new FileOutputStream(file))) {
+            indexBytes.writeTo(output);
+            pad(output, indexBytes.size());
+
+            long position = 0L;
+            for (Path path : fileMap.values()) {
+                position += Files.copy(path, output);
+                position = pad(output, position);
+            }
+        }
+    }
+}
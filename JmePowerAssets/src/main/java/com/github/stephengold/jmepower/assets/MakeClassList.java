@@ -0,0 +1,183 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower.assets;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import jme3utilities.Heart;
+import jme3utilities.MyString;
+
+/**
+ * A console application to compile a class list for
+ * {@code com.github.stephengold.jmepower.ClassWarmup} from the class-loading
+ * log of a real run.
+ * <p>
+ * To record the log, run the application with
+ * "-Xlog:class+load:file=&lt;log&gt;" (Java 9+) or with "-verbose:class" (Java
+ * 8, redirecting standard output).
+ * The first argument is the log to read, the second is the list to write.
+ * Classes are listed in the order they were loaded, omitting JDK classes,
+ * hidden classes, and classes mapped from a shared archive (which load
+ * quickly anyway).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class MakeClassList {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(MakeClassList.class.getName());
+    /**
+     * match a class-loading event logged by -Xlog:class+load
+     */
+    final private static Pattern unifiedPattern = Pattern.compile(
+            "\\[class,load\\s*\\]\\s+(\\S+)\\s+source:\\s*(.*)");
+    /**
+     * match a class-loading event logged by -verbose:class on Java 8
+     */
+    final private static Pattern verbosePattern
+            = Pattern.compile("^\\[Loaded (\\S+) from (.*)\\]$");
+    /**
+     * prefixes of JDK packages, whose classes are omitted
+     */
+    final private static String[] jdkPrefixes = {
+        "com.sun.", "java.", "javax.", "jdk.", "sun."
+    };
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private MakeClassList() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the MakeClassList application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        // Mute the chatty loggers found in some imported packages:
+        Heart.setLoggingLevels(Level.WARNING);
+
+        if (arguments.length != 2) {
+            System.err.println("Usage: MakeClassList <logFile> <listFile>");
+            System.exit(1);
+        }
+        String logPath = arguments[0];
+        String listPath = arguments[1];
+
+        Set<String> classNames;
+        try {
+            classNames = parse(new File(logPath));
+            List<String> lines = new ArrayList<>(classNames.size() + 1);
+            lines.add("# classes to warm up, in the order they were loaded");
+            lines.addAll(classNames);
+            Files.write(new File(listPath).toPath(), lines,
+                    StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+
+        logger.log(Level.INFO, "wrote {0} class names to {1}", new Object[]{
+            classNames.size(), MyString.quote(listPath)
+        });
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test whether the named class should be omitted from the list.
+     *
+     * @param className the binary name of the class (not null)
+     * @param source where the class was loaded from (not null)
+     * @return true to omit it, otherwise false
+     */
+    private static boolean isOmitted(String className, String source) {
+        if (className.contains("/") || className.contains("$$Lambda")) {
+            return true; // hidden or generated class
+        }
+        if (source.contains("shared") || source.contains("jrt:/")) {
+            return true; // from a shared archive or the JDK runtime image
+        }
+        for (String prefix : jdkPrefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Extract the names of the classes loaded, in order, from the specified
+     * log.
+     *
+     * @param logFile the log file to read (not null)
+     * @return a new set of binary class names, in load order
+     * @throws IOException if the file can't be read
+     */
+    private static Set<String> parse(File logFile) throws IOException {
+        List<String> lines
+                = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+        Set<String> result = new LinkedHashSet<>(lines.size());
+        for (String line : lines) {
+            Matcher matcher = unifiedPattern.matcher(line);
+            if (!matcher.find()) {
+                matcher = verbosePattern.matcher(line.trim());
+                if (!matcher.find()) {
+                    continue;
+                }
+            }
+
+            String className = matcher.group(1);
+            String source = matcher.group(2);
+            if (!isOmitted(className, source)) {
+                result.add(className);
+            }
+        }
+
+        return result;
+    }
+}
@@ -35,7 +35,8 @@ import jme3utilities.Heart;
 import jme3utilities.MyString;
 
 /**
- * A console application to generate the "powered-by.jpeg" texture.
+ * A console application to generate the "powered-by.jpeg" texture and its
+ * single-channel signed-distance-field counterpart, "powered-by-sdf.png".
  *
  * @author Stephen Gold sgold@sonic.net
  */
@@ -81,7 +82,7 @@ final public class MakePoweredBy extends MakeSquareTexture {
         logger.log(Level.INFO, "working directory is {0}",
                 MyString.quote(userDir));
 
-        // Generate a color image map:
+        // Generate a color image map and a signed-distance field:
         application.makePoweredBy();
     }
     // *************************************************************************
@@ -148,5 +149,9 @@ final public class MakePoweredBy extends MakeSquareTexture {
 
         int finalSize = 512;
         downsampleAndWrite(finalSize, "powered-by.jpeg");
+
+        int sdfSize = 256;
+        double spread = 4.0; // pixels
+        writeSdf(sdfSize, spread, "powered-by-sdf.png");
     }
 }
@@ -0,0 +1,248 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower.assets;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Heart;
+import jme3utilities.MyString;
+
+/**
+ * A console application to compile a preload manifest for a tree of asset
+ * resources.
+ * <p>
+ * The first argument is the root of the tree to scan, the second is the
+ * manifest file to write. The format must match the one read by
+ * {@code com.github.stephengold.jmepower.PreloadManifest}.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class MakePreloadManifest {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * AssetKind code for a C-G model
+     */
+    final private static byte modelCode = 1;
+    /**
+     * AssetKind code for a texture
+     */
+    final private static byte textureCode = 2;
+    /**
+     * AssetKind code for a material
+     */
+    final private static byte materialCode = 3;
+    /**
+     * AssetKind code for a material definition
+     */
+    final private static byte matDefCode = 4;
+    /**
+     * AssetKind code for a bitmap font
+     */
+    final private static byte fontCode = 5;
+    /**
+     * AssetKind code for audio data
+     */
+    final private static byte audioCode = 6;
+    /**
+     * magic number at the start of every manifest ("JPMF")
+     */
+    final private static int magicNumber = 0x4A504D46;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger
+            = Logger.getLogger(MakePreloadManifest.class.getName());
+    /**
+     * manifest format version
+     */
+    final private static short formatVersion = 1;
+    // *************************************************************************
+    // fields
+
+    /**
+     * map asset paths to kind codes, in lexicographic order
+     */
+    final private static Map<String, Byte> codeMap = new TreeMap<>();
+    /**
+     * map asset paths to file sizes
+     */
+    final private static Map<String, Long> sizeMap = new TreeMap<>();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private MakePreloadManifest() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the MakePreloadManifest application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        // Mute the chatty loggers found in some imported packages:
+        Heart.setLoggingLevels(Level.WARNING);
+
+        if (arguments.length != 2) {
+            System.err.println(
+                    "Usage: MakePreloadManifest <resourcesDir> <manifestFile>");
+            System.exit(1);
+        }
+        String rootPath = arguments[0];
+        String manifestPath = arguments[1];
+
+        try {
+            scan(Paths.get(rootPath));
+            write(new File(manifestPath));
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+
+        logger.log(Level.INFO, "wrote {0} entries to {1}", new Object[]{
+            codeMap.size(), MyString.quote(manifestPath)
+        });
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Classify an asset by its filename extension.
+     *
+     * @param fileName the name of the file (not null)
+     * @return an AssetKind code, or -1 if the file isn't a preloadable asset
+     */
+    private static byte classify(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        int dotIndex = lower.lastIndexOf('.');
+        String extension = (dotIndex < 0) ? "" : lower.substring(dotIndex + 1);
+
+        switch (extension) {
+            case "glb":
+            case "gltf":
+            case "j3o":
+            case "obj":
+                return modelCode;
+
+            case "bmp":
+            case "dds":
+            case "gif":
+            case "hdr":
+            case "jpeg":
+            case "jpg":
+            case "ktx":
+            case "pfm":
+            case "png":
+            case "tga":
+                return textureCode;
+
+            case "j3m":
+                return materialCode;
+
+            case "j3md":
+                return matDefCode;
+
+            case "fnt":
+                return fontCode;
+
+            case "ogg":
+            case "wav":
+                return audioCode;
+
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Record every preloadable asset in the specified tree.
+     *
+     * @param root the root of the tree (not null)
+     * @throws IOException if the tree can't be walked
+     */
+    private static void scan(final Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(
+                    Path file, BasicFileAttributes attributes) {
+                byte code = classify(file.getFileName().toString());
+                if (code >= 0) {
+                    String relative = root.relativize(file).toString();
+                    String assetPath = relative.replace('\\', '/');
+                    codeMap.put(assetPath, code);
+                    sizeMap.put(assetPath, attributes.size());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Write the recorded assets to the specified manifest file.
+     *
+     * @param file the file to write (not null)
+     * @throws IOException if the file can't be written
+     */
+    private static void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(magicNumber);
+            output.writeShort(formatVersion);
+            output.writeInt(codeMap.size());
+            for (Map.Entry<String, Byte> entry : codeMap.entrySet()) {
+                String assetPath = entry.getKey();
+                output.writeByte(entry.getValue());
+                output.writeLong(sizeMap.get(assetPath));
+                output.writeUTF(assetPath);
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.awt.Color;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.util.logging.Logger;
 import jme3utilities.Heart;
@@ -45,6 +46,10 @@ public class MakeSquareTexture {
     // *************************************************************************
     // constants and loggers
 
+    /**
+     * squared distance that represents "no feature in range"
+     */
+    final private static float far = 1e20f;
     /**
      * message logger for this class
      */
@@ -66,6 +71,11 @@ public class MakeSquareTexture {
      * graphics context
      */
     private Graphics2D graphics;
+    /**
+     * RGB of the fill color, which marks the outside of a signed-distance
+     * field
+     */
+    private int backgroundRgb;
     /**
      * size of the texture (pixels per side)
      */
@@ -96,6 +106,7 @@ public class MakeSquareTexture {
         image = new BufferedImage(textureSize, textureSize,
                 BufferedImage.TYPE_3BYTE_BGR);
 
+        backgroundRgb = color.getRGB() & 0xffffff;
         graphics = image.createGraphics();
         graphics.setColor(color);
         graphics.fillRect(0, 0, textureSize, textureSize);
@@ -137,4 +148,140 @@ public class MakeSquareTexture {
         int y = (int) Math.round(textureSize * baseY);
         graphics.drawString(text, x, y);
     }
+
+    /**
+     * Convert the image to a single-channel signed-distance field, sample it
+     * at the desired final size, and write it to a file. A pixel is inside if
+     * its color differs from the fill color. In the output, gray level 128
+     * marks the edge, with brighter levels inside.
+     *
+     * @param finalSize the desired image size (pixels per side, &gt;0)
+     * @param spread the distance (in output pixels) from the edge to black or
+     * white (&gt;0)
+     * @param fileName the name of the PNG file to create (not null, not empty)
+     */
+    protected void writeSdf(int finalSize, double spread, String fileName) {
+        int numPixels = textureSize * textureSize;
+        float[] toInside = new float[numPixels];
+        float[] toOutside = new float[numPixels];
+        for (int y = 0; y < textureSize; ++y) {
+            for (int x = 0; x < textureSize; ++x) {
+                int rgb = image.getRGB(x, y) & 0xffffff;
+                int index = x + textureSize * y;
+                boolean inside = (rgb != backgroundRgb);
+                toInside[index] = inside ? 0f : far;
+                toOutside[index] = inside ? far : 0f;
+            }
+        }
+        transform(toInside);
+        transform(toOutside);
+
+        BufferedImage sdfImage = new BufferedImage(
+                finalSize, finalSize, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = sdfImage.getRaster();
+        double scale = textureSize / (double) finalSize;
+        for (int y = 0; y < finalSize; ++y) {
+            int sampleY = (int) ((y + 0.5) * scale);
+            for (int x = 0; x < finalSize; ++x) {
+                int sampleX = (int) ((x + 0.5) * scale);
+                int index = sampleX + textureSize * sampleY;
+
+                // signed distance from the edge (positive outside):
+                double distance = (toInside[index] == 0f)
+                        ? 0.5 - Math.sqrt(toOutside[index])
+                        : Math.sqrt(toInside[index]) - 0.5;
+                double value = 0.5 - distance / (2.0 * spread * scale);
+                int level = (int) Math.round(255.0 * value);
+                level = Math.max(0, Math.min(255, level));
+                raster.setSample(x, y, 0, level);
+            }
+        }
+
+        String filePath = String.format("%s/%s", assetDirPath, fileName);
+        try {
+            Heart.writeImage(filePath, sdfImage);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Compute the squared Euclidean distance transform of a row or column,
+     * using the lower-envelope algorithm of Felzenszwalb and Huttenlocher.
+     *
+     * @param input the squared distance of each sample to a feature, 0 for a
+     * feature (not null, unaffected)
+     * @param output storage for the transformed samples (not null, modified)
+     * @param parabolas storage for the locations of the parabolas in the lower
+     * envelope (not null, length&ge;input.length)
+     * @param bounds storage for the boundaries between the parabolas (not null,
+     * length&gt;input.length)
+     */
+    private static void edt1d(
+            float[] input, float[] output, int[] parabolas, float[] bounds) {
+        int length = input.length;
+        int numParabolas = 1;
+        parabolas[0] = 0;
+        bounds[0] = -far;
+        bounds[1] = far;
+        for (int q = 1; q < length; ++q) {
+            float intersection;
+            while (true) {
+                int p = parabolas[numParabolas - 1];
+                intersection = ((input[q] + q * q) - (input[p] + p * p))
+                        / (2f * (q - p));
+                if (intersection > bounds[numParabolas - 1]
+                        || numParabolas == 1) {
+                    break;
+                }
+                --numParabolas;
+            }
+            parabolas[numParabolas] = q;
+            bounds[numParabolas] = intersection;
+            bounds[numParabolas + 1] = far;
+            ++numParabolas;
+        }
+
+        int k = 0;
+        for (int q = 0; q < length; ++q) {
+            while (bounds[k + 1] < q) {
+                ++k;
+            }
+            int p = parabolas[k];
+            output[q] = (q - p) * (q - p) + input[p];
+        }
+    }
+
+    /**
+     * Replace a square grid of feature flags (0 for a feature, far
+     * otherwise) with the squared distance from each pixel to the nearest
+     * feature.
+     *
+     * @param grid the grid, in row-major order (not null, length =
+     * textureSize^2, modified)
+     */
+    private void transform(float[] grid) {
+        int size = textureSize;
+        float[] input = new float[size];
+        float[] output = new float[size];
+        int[] parabolas = new int[size];
+        float[] bounds = new float[size + 1];
+
+        for (int x = 0; x < size; ++x) { // columns
+            for (int y = 0; y < size; ++y) {
+                input[y] = grid[x + size * y];
+            }
+            edt1d(input, output, parabolas, bounds);
+            for (int y = 0; y < size; ++y) {
+                grid[x + size * y] = output[y];
+            }
+        }
+        for (int y = 0; y < size; ++y) { // rows
+            System.arraycopy(grid, size * y, input, 0, size);
+            edt1d(input, output, parabolas, bounds);
+            System.arraycopy(output, 0, grid, size * y, size);
+        }
+    }
 }
@@ -0,0 +1,337 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3test.benchmark;
+
+import com.github.stephengold.jmepower.JmeLoadingState;
+import com.github.stephengold.jmepower.KeyLoadable;
+import com.github.stephengold.jmepower.LoadingMode;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppState;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.ModelKey;
+import com.jme3.asset.TextureKey;
+import com.jme3.asset.plugins.FileLocator;
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.system.AppSettings;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import jme3utilities.Loadable;
+
+/**
+ * Generate a synthetic preload workload and measure how JmePower's preloading
+ * scales with the number of threads.
+ * <p>
+ * The workload mixes 4 kinds of Loadables with log-uniform sizes: J3O meshes
+ * and PNG textures (I/O plus decoding), raw file reads (I/O-bound), and busy
+ * loops (CPU-bound). The files are written to a temporary directory.
+ * <p>
+ * Arguments (all optional): number of Loadables (default 48), then a
+ * comma-separated list of thread counts (default 1,2,4,8,0), where 0 lets the
+ * pool tune the number of threads while loading.
+ */
+public class PreloadScaling extends SimpleApplication {
+
+    private static int numLoadables = 48;
+    private static int[] threadCounts = {1, 2, 4, 8, 0};
+    /**
+     * sink for the results of CPU-bound Loadables, to defeat optimization
+     */
+    private static volatile long sink;
+
+    private double[] seconds;
+    private File workDir;
+    private int runIndex;
+    private JmeLoadingState loading;
+    private final List<Loadable> workload = new ArrayList<>();
+    private long cpuIterations;
+    private long fileBytes;
+    private long runStartNanos;
+
+    public PreloadScaling() {
+        super((AppState[]) null);
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            numLoadables = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            String[] items = args[1].split(",");
+            threadCounts = new int[items.length];
+            for (int i = 0; i < items.length; ++i) {
+                threadCounts[i] = Integer.parseInt(items[i].trim());
+            }
+        }
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        PreloadScaling app = new PreloadScaling();
+        AppSettings settings = new AppSettings(true);
+        settings.setFrameRate(-1);
+        settings.setTitle("Preload scaling");
+        settings.setVSync(false);
+        app.setSettings(settings);
+        app.setShowSettings(false);
+        app.start();
+    }
+
+    @Override
+    public void simpleInitApp() {
+        try {
+            workDir = Files.createTempDirectory("jmepower-workload").toFile();
+            generateWorkload();
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+        assetManager.registerLocator(
+                workDir.getAbsolutePath(), FileLocator.class);
+        System.out.printf(Locale.ROOT,
+                "%d Loadables: %.1f MiB of files, %d M CPU iterations in %s%n",
+                workload.size(), fileBytes / 1048576.0,
+                cpuIterations / 1_000_000, workDir);
+
+        seconds = new double[threadCounts.length];
+        runIndex = -1; // the first run only warms the file-system cache
+        startRun();
+    }
+
+    /**
+     * Delete the workload files when the application exits, whether or not
+     * the benchmark completed.
+     */
+    @Override
+    public void destroy() {
+        super.destroy();
+        deleteWorkload();
+    }
+
+    @Override
+    public void simpleUpdate(float tpf) {
+        if (loading == null || loading.isEnabled()) {
+            return;
+        }
+
+        double elapsed = (System.nanoTime() - runStartNanos) / 1e9;
+        stateManager.detach(loading);
+        loading = null;
+        if (runIndex >= 0) {
+            seconds[runIndex] = elapsed;
+        }
+
+        ++runIndex;
+        if (runIndex < threadCounts.length) {
+            startRun();
+        } else {
+            report();
+            stop();
+        }
+    }
+
+    /**
+     * Delete the work directory and the workload files in it.
+     */
+    private void deleteWorkload() {
+        if (workDir == null) {
+            return;
+        }
+        File[] files = workDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+        if (!workDir.delete()) {
+            System.err.println("Couldn't delete " + workDir);
+        }
+        workDir = null;
+    }
+
+    /**
+     * Write the workload files and create the Loadables.
+     */
+    private void generateWorkload() throws IOException {
+        Random random = new Random(1L);
+        for (int i = 0; i < numLoadables; ++i) {
+            switch (i % 4) {
+                case 0:
+                    int numVertices = 3 * logUniform(random, 300, 100_000);
+                    String meshName = "mesh-" + i + ".j3o";
+                    writeMesh(random, numVertices, new File(workDir, meshName));
+                    workload.add(new KeyLoadable(new ModelKey(meshName)));
+                    break;
+
+                case 1:
+                    int size = 1 << logUniform(random, 6, 11); // 64 to 2048
+                    String texName = "texture-" + i + ".png";
+                    writeTexture(random, size, new File(workDir, texName));
+                    workload.add(new KeyLoadable(new TextureKey(texName)));
+                    break;
+
+                case 2:
+                    int numBytes = logUniform(random, 64 << 10, 16 << 20);
+                    File blob = new File(workDir, "blob-" + i + ".bin");
+                    writeBlob(random, numBytes, blob);
+                    workload.add(am -> readFully(blob));
+                    break;
+
+                default:
+                    int iterations = logUniform(random, 100_000, 20_000_000);
+                    cpuIterations += iterations;
+                    workload.add(am -> spin(iterations));
+            }
+        }
+
+        File[] files = workDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                fileBytes += file.length();
+            }
+        }
+    }
+
+    /**
+     * Return a pseudo-random integer, log-uniformly distributed.
+     */
+    private static int logUniform(Random random, int min, int max) {
+        double exponent = Math.log(min)
+                + random.nextDouble() * (Math.log(max) - Math.log(min));
+        int result = (int) Math.round(Math.exp(exponent));
+        return result;
+    }
+
+    private static void readFully(File file) {
+        byte[] buffer = new byte[64 << 10];
+        try (InputStream stream = new FileInputStream(file)) {
+            while (stream.read(buffer) >= 0) {
+                // discard the data
+            }
+        } catch (IOException exception) {
+            throw new AssetLoadException("failed to read " + file, exception);
+        }
+    }
+
+    /**
+     * Print the throughput and speedup for each thread count.
+     */
+    private void report() {
+        double mib = fileBytes / 1048576.0;
+        System.out.println("threads  seconds    MiB/s  items/s  speedup");
+        for (int i = 0; i < threadCounts.length; ++i) {
+            String threads = (threadCounts[i] > 0)
+                    ? Integer.toString(threadCounts[i]) : "auto";
+            System.out.printf(Locale.ROOT, "%7s %8.3f %8.1f %8.1f %8.2f%n",
+                    threads, seconds[i], mib / seconds[i],
+                    workload.size() / seconds[i], seconds[0] / seconds[i]);
+        }
+        System.out.println("(times include about 2 frames of overhead)");
+    }
+
+    private static void spin(int iterations) {
+        long x = iterations;
+        for (int i = 0; i < iterations; ++i) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        sink += x;
+    }
+
+    /**
+     * Start preloading the workload with a cold asset cache.
+     */
+    private void startRun() {
+        assetManager.clearCache();
+        int numThreads = (runIndex < 0) ? 1 : threadCounts[runIndex];
+
+        loading = new JmeLoadingState(workload.toArray(new Loadable[0]));
+        loading.setMode(LoadingMode.Minimal);
+        if (numThreads > 0) {
+            loading.setMaxPreloaders(numThreads);
+        } else {
+            loading.setTuning(true);
+        }
+        stateManager.attach(loading);
+        runStartNanos = System.nanoTime();
+    }
+
+    private static void writeBlob(Random random, int numBytes, File file)
+            throws IOException {
+        byte[] bytes = new byte[numBytes];
+        random.nextBytes(bytes);
+        try (OutputStream stream = new FileOutputStream(file)) {
+            stream.write(bytes);
+        }
+    }
+
+    private static void writeMesh(Random random, int numVertices, File file)
+            throws IOException {
+        float[] positions = new float[3 * numVertices];
+        for (int i = 0; i < positions.length; ++i) {
+            positions[i] = random.nextFloat();
+        }
+        Mesh mesh = new Mesh();
+        mesh.setBuffer(VertexBuffer.Type.Position, 3, positions);
+        mesh.updateBound();
+        mesh.updateCounts();
+
+        Geometry geometry = new Geometry(file.getName(), mesh);
+        BinaryExporter.getInstance().save(geometry, file);
+    }
+
+    private static void writeTexture(Random random, int size, File file)
+            throws IOException {
+        BufferedImage image
+                = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < size; ++y) {
+            for (int x = 0; x < size; ++x) {
+                // smooth gradients plus a little noise, like real textures
+                int r = (x * 255 / size) ^ random.nextInt(16);
+                int g = (y * 255 / size) ^ random.nextInt(16);
+                int b = ((x + y) * 127 / size) & 0xff;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        ImageIO.write(image, "png", file);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3test.benchmark;
+
+import com.github.stephengold.jmepower.AnimationLodControl;
+import com.jme3.anim.AnimComposer;
+import com.jme3.anim.SkinningControl;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppState;
+import com.jme3.light.AmbientLight;
+import com.jme3.light.DirectionalLight;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.system.AppSettings;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measure the render-thread CPU time spent animating Jaime models with
+ * software skinning, with hardware skinning, and with hardware skinning plus
+ * animation LOD, as used by the JmePower splash cinematic.
+ */
+public class SkinningBenchmark extends SimpleApplication {
+
+    /**
+     * skinning configurations, in the order measured
+     */
+    private enum Config {
+        Software, Hardware, HardwareLod
+    }
+
+    /**
+     * number of animated models in the scene
+     */
+    final private static int numModels = 16;
+    /**
+     * number of frames to skip after each change of configuration
+     */
+    final private static int warmupFrames = 120;
+    /**
+     * number of frames to measure for each configuration
+     */
+    final private static int measuredFrames = 600;
+
+    private int configIndex = -1;
+    private int frameInConfig;
+    final private List<Node> models = new ArrayList<>();
+    private long lastCpuNanos;
+    final private long[] totalNanos = new long[Config.values().length];
+    final private ThreadMXBean threadBean
+            = ManagementFactory.getThreadMXBean();
+
+    public SkinningBenchmark() {
+        super((AppState[]) null);
+    }
+
+    public static void main(String[] args) {
+        SkinningBenchmark app = new SkinningBenchmark();
+        AppSettings settings = new AppSettings(true);
+        settings.setFrameRate(-1);
+        settings.setTitle("Skinning benchmark");
+        settings.setVSync(false);
+        app.setSettings(settings);
+        app.setShowSettings(false);
+        app.start();
+    }
+
+    @Override
+    public void simpleInitApp() {
+        cam.setLocation(new Vector3f(0f, 4f, 9f));
+        cam.lookAt(new Vector3f(0f, 0.5f, 0f), Vector3f.UNIT_Y);
+        rootNode.addLight(new AmbientLight());
+        rootNode.addLight(
+                new DirectionalLight(new Vector3f(-1f, -2f, -1f).normalize()));
+
+        for (int i = 0; i < numModels; ++i) {
+            Node jaime = (Node) assetManager.loadModel(
+                    "/Models/Jaime/Jaime-new.j3o");
+            jaime.setLocalTranslation(i % 4 - 1.5f, 0f, i / 4 - 1.5f);
+            jaime.getControl(AnimComposer.class).setCurrentAction("Punches");
+            rootNode.attachChild(jaime);
+            models.add(jaime);
+        }
+
+        if (!threadBean.isCurrentThreadCpuTimeSupported()) {
+            System.err.println("Thread CPU time isn't supported here.");
+            stop();
+            return;
+        }
+        startConfig(0);
+    }
+
+    @Override
+    public void simpleUpdate(float tpf) {
+        // CPU time of the previous frame, including its render
+        long cpuNanos = threadBean.getCurrentThreadCpuTime();
+        long frameNanos = cpuNanos - lastCpuNanos;
+        lastCpuNanos = cpuNanos;
+
+        ++frameInConfig;
+        if (frameInConfig > warmupFrames) {
+            totalNanos[configIndex] += frameNanos;
+        }
+        if (frameInConfig == warmupFrames + measuredFrames) {
+            if (configIndex + 1 < Config.values().length) {
+                startConfig(configIndex + 1);
+            } else {
+                report();
+                stop();
+            }
+        }
+    }
+
+    /**
+     * Print the mean CPU time per frame for each configuration and the
+     * savings relative to software skinning.
+     */
+    private void report() {
+        double baseline = totalNanos[0] / (double) measuredFrames;
+        System.out.printf(Locale.ROOT, "%d models, %d frames each%n",
+                numModels, measuredFrames);
+        for (Config config : Config.values()) {
+            long total = totalNanos[config.ordinal()];
+            double mean = total / (double) measuredFrames;
+            double saved = 100.0 * (baseline - mean) / baseline;
+            System.out.printf(Locale.ROOT,
+                    "%-12s %8.1f us/frame  (%5.1f%% saved)%n",
+                    config, mean / 1000.0, saved);
+        }
+    }
+
+    /**
+     * Apply the specified configuration to every model.
+     *
+     * @param index the index of the configuration to apply
+     */
+    private void startConfig(int index) {
+        configIndex = index;
+        frameInConfig = 0;
+        Config config = Config.values()[index];
+        boolean hardware = (config != Config.Software);
+        boolean lod = (config == Config.HardwareLod);
+
+        for (Node jaime : models) {
+            SkinningControl skinning = jaime.getControl(SkinningControl.class);
+            skinning.setHardwareSkinningPreferred(hardware);
+            if (lod) {
+                // a tiny budget forces the maximum update interval
+                jaime.addControl(new AnimationLodControl(0.001f, 4));
+            }
+        }
+        lastCpuNanos = threadBean.getCurrentThreadCpuTime();
+    }
+}
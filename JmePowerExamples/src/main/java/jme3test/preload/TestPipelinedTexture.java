@@ -0,0 +1,144 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3test.preload;
+
+import com.github.stephengold.jmepower.JmeLoadingState;
+import com.github.stephengold.jmepower.KeyLoadable;
+import com.github.stephengold.jmepower.LoadingMode;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppState;
+import com.jme3.asset.TextureKey;
+import com.jme3.asset.plugins.FileLocator;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+import com.jme3.texture.Texture;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+
+/**
+ * Preload textures with a pipelined pool (the I/O thread reads their bytes
+ * and the Preloaders decode them from memory) and verify that each one is
+ * delivered as a Texture, both via a future and via the AssetCache.
+ * <p>
+ * Runs headless and exits with status 0 on success, 1 on failure.
+ */
+public class TestPipelinedTexture extends SimpleApplication {
+
+    private static final int size = 64;
+    private static final long timeoutNanos = 30L * 1000L * 1000L * 1000L;
+
+    private CompletableFuture<Object> future;
+    private JmeLoadingState loading;
+    private long startNanos;
+
+    public TestPipelinedTexture() {
+        super((AppState[]) null);
+    }
+
+    public static void main(String[] args) {
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        TestPipelinedTexture app = new TestPipelinedTexture();
+        app.setSettings(new AppSettings(true));
+        app.setShowSettings(false);
+        app.start(JmeContext.Type.Headless);
+    }
+
+    @Override
+    public void simpleInitApp() {
+        File dir;
+        try {
+            dir = Files.createTempDirectory("jmepower-pipeline").toFile();
+            writeTexture(new File(dir, "future.png"));
+            writeTexture(new File(dir, "cached.png"));
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+        assetManager.registerLocator(dir.getAbsolutePath(), FileLocator.class);
+
+        loading = new JmeLoadingState(
+                new KeyLoadable(new TextureKey("cached.png")));
+        loading.setMode(LoadingMode.Headless);
+        loading.getPool().setPipelined(true);
+        future = loading.submit(new TextureKey("future.png"));
+        stateManager.attach(loading);
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void simpleUpdate(float tpf) {
+        if (loading.isEnabled()) {
+            if (System.nanoTime() - startNanos > timeoutNanos) {
+                fail("preloading timed out");
+            }
+            return;
+        }
+
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            fail("the future didn't complete normally");
+        }
+        verify(future.join(), "future.png");
+        verify(assetManager.getFromCache(new TextureKey("cached.png")),
+                "cached.png");
+
+        System.out.println("TestPipelinedTexture passed.");
+        stop();
+    }
+
+    private static void fail(String message) {
+        System.err.println("TestPipelinedTexture failed: " + message);
+        System.exit(1);
+    }
+
+    private static void verify(Object asset, String name) {
+        if (!(asset instanceof Texture)) {
+            fail(name + " was delivered as " + asset);
+        }
+        Texture texture = (Texture) asset;
+        if (texture.getImage() == null
+                || texture.getImage().getWidth() != size) {
+            fail(name + " has the wrong image");
+        }
+    }
+
+    private static void writeTexture(File file) throws IOException {
+        BufferedImage image
+                = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < size; ++y) {
+            for (int x = 0; x < size; ++x) {
+                image.setRGB(x, y, (x * 4) << 16 | (y * 4) << 8);
+            }
+        }
+        ImageIO.write(image, "png", file);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.anim.SkinningControl;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.control.AbstractControl;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A Control to reduce the bone-update rate of an animated model when the
+ * frame budget is tight. Add it to a Spatial that has a SkinningControl. While
+ * frames take longer than the budget, the SkinningControl is updated only
+ * every Nth frame, where N grows gradually up to a limit. In between, the
+ * model retains its most recent pose.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class AnimationLodControl extends AbstractControl {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * weight of the latest frame time in the smoothed frame time
+     */
+    final private static float smoothing = 0.1f;
+    /**
+     * number of frames between changes to the update interval
+     */
+    final private static int framesPerDecision = 30;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(AnimationLodControl.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * target duration of a frame (in seconds)
+     */
+    final private float frameBudget;
+    /**
+     * exponential moving average of the frame time (in seconds)
+     */
+    private float smoothedTpf;
+    /**
+     * number of frames since this control was added
+     */
+    private int frameCount;
+    /**
+     * current update interval (in frames, &ge;1)
+     */
+    private int interval = 1;
+    /**
+     * maximum update interval (in frames, &ge;1)
+     */
+    final private int maxInterval;
+    /**
+     * number of frames in which skinning was skipped
+     */
+    private long numSkipped;
+    /**
+     * the throttled control, or null if not found yet
+     */
+    private SkinningControl skinning;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an enabled control with the specified parameters.
+     *
+     * @param frameBudget the target duration of a frame (in seconds, &gt;0)
+     * @param maxInterval the maximum number of frames between bone updates
+     * (&ge;1)
+     */
+    public AnimationLodControl(float frameBudget, int maxInterval) {
+        Validate.positive(frameBudget, "frame budget");
+        Validate.positive(maxInterval, "max interval");
+
+        this.frameBudget = frameBudget;
+        this.maxInterval = maxInterval;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the frames in which skinning was skipped.
+     *
+     * @return the count (&ge;0)
+     */
+    public long countSkipped() {
+        return numSkipped;
+    }
+
+    /**
+     * Return the current number of frames between bone updates.
+     *
+     * @return the interval (&ge;1)
+     */
+    public int getInterval() {
+        return interval;
+    }
+    // *************************************************************************
+    // AbstractControl methods
+
+    /**
+     * Callback invoked when the controlled Spatial is about to be rendered to
+     * a ViewPort.
+     *
+     * @param renderManager the RenderManager rendering the Spatial (unused)
+     * @param viewPort the ViewPort being rendered (unused)
+     */
+    @Override
+    protected void controlRender(
+            RenderManager renderManager, ViewPort viewPort) {
+        // do nothing
+    }
+
+    /**
+     * Callback invoked once per frame when the control is enabled and added
+     * to a Spatial.
+     *
+     * @param tpf the time interval between frames (in seconds, &ge;0)
+     */
+    @Override
+    protected void controlUpdate(float tpf) {
+        if (skinning == null) {
+            this.skinning = spatial.getControl(SkinningControl.class);
+            if (skinning == null) {
+                return;
+            }
+        }
+
+        smoothedTpf += smoothing * (tpf - smoothedTpf);
+        ++frameCount;
+        if (frameCount % framesPerDecision == 0) {
+            adjustInterval();
+        }
+
+        boolean updateBones = (frameCount % interval == 0);
+        skinning.setEnabled(updateBones);
+        if (!updateBones) {
+            ++numSkipped;
+        }
+    }
+
+    /**
+     * Enable or disable this control. While disabled, the SkinningControl is
+     * updated every frame.
+     *
+     * @param enabled true to enable, false to disable
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        if (!enabled) {
+            releaseSkinning();
+        }
+    }
+
+    /**
+     * Alter which Spatial is controlled. Invoked when the control is added to
+     * or removed from a Spatial.
+     *
+     * @param spatial the Spatial to control (or null)
+     */
+    @Override
+    public void setSpatial(Spatial spatial) {
+        releaseSkinning();
+        super.setSpatial(spatial);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Lengthen the update interval while the smoothed frame time exceeds the
+     * budget, and shorten it once there's ample slack.
+     */
+    private void adjustInterval() {
+        int oldInterval = interval;
+        if (smoothedTpf > frameBudget && interval < maxInterval) {
+            ++interval;
+        } else if (smoothedTpf < 0.75f * frameBudget && interval > 1) {
+            --interval;
+        }
+
+        if (interval != oldInterval && logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "bone-update interval = {0} frames",
+                    interval);
+        }
+    }
+
+    /**
+     * Re-enable the throttled SkinningControl, if any, and forget it.
+     */
+    private void releaseSkinning() {
+        if (skinning != null) {
+            skinning.setEnabled(true);
+            this.skinning = null;
+        }
+    }
+}
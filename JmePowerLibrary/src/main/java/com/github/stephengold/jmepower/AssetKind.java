@@ -0,0 +1,125 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.MaterialKey;
+import com.jme3.asset.ModelKey;
+import com.jme3.asset.TextureKey;
+import com.jme3.audio.AudioKey;
+
+/**
+ * Enumerate the kinds of assets recorded in a preload manifest. The ordinals
+ * are part of the manifest format, so new kinds must be added at the end.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public enum AssetKind {
+    // *************************************************************************
+    // values
+
+    /**
+     * an asset without a specialized key (code 0)
+     */
+    Other,
+    /**
+     * a C-G model, such as a J3O or glTF file (code 1)
+     */
+    Model,
+    /**
+     * a texture, such as a PNG or JPEG file (code 2)
+     */
+    Texture,
+    /**
+     * a material, namely a J3M file (code 3)
+     */
+    Material,
+    /**
+     * a material definition, namely a J3MD file (code 4)
+     */
+    MaterialDef,
+    /**
+     * a bitmap font, namely an FNT file (code 5)
+     */
+    Font,
+    /**
+     * audio data, such as an OGG or WAV file (code 6)
+     */
+    Audio;
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Create a key to load an asset of this kind. Textures use the same key
+     * parameters as {@code AssetManager.loadTexture(String)}.
+     *
+     * @param assetPath the asset path (not null, not empty)
+     * @return a new key
+     */
+    public AssetKey<?> createKey(String assetPath) {
+        AssetKey<?> result;
+        switch (this) {
+            case Audio:
+                result = new AudioKey(assetPath);
+                break;
+
+            case Material:
+                result = new MaterialKey(assetPath);
+                break;
+
+            case Model:
+                result = new ModelKey(assetPath);
+                break;
+
+            case Texture:
+                TextureKey textureKey = new TextureKey(assetPath, true);
+                textureKey.setGenerateMips(true);
+                result = textureKey;
+                break;
+
+            default:
+                result = new AssetKey<>(assetPath);
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the kind with the specified code.
+     *
+     * @param code the code of the desired kind (&ge;0)
+     * @return the pre-existing enum value (not null)
+     */
+    static AssetKind fromCode(int code) {
+        AssetKind[] values = values();
+        if (code < 0 || code >= values.length) {
+            throw new IllegalArgumentException("code = " + code);
+        }
+
+        return values[code];
+    }
+}
@@ -0,0 +1,572 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.TextureKey;
+import com.jme3.export.FormatVersion;
+import com.jme3.texture.Texture;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Utility methods to discover the sub-assets that a model or material
+ * references, without loading it.
+ * <p>
+ * A J3O file is read only once: its bytes are returned, so that the model can
+ * be decoded from memory. The class table in its header identifies the
+ * serialized TextureKeys, which are decoded with their actual flags. Paths of
+ * materials and material definitions are found by scanning for
+ * length-prefixed strings.
+ * <p>
+ * J3M files are parsed line by line. Their texture keys mimic those created by
+ * J3MLoader (mipmaps generated, flipped only if the J3M says "Flip"). A
+ * mismatched key merely costs a redundant load.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class AssetReferences {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * longest string considered as an asset path (in bytes)
+     */
+    final private static int maxPathLength = 1024;
+    /**
+     * shortest string considered as an asset path (in bytes)
+     */
+    final private static int minPathLength = 5;
+    /**
+     * message logger for this class
+     */
+    final static Logger logger
+            = Logger.getLogger(AssetReferences.class.getName());
+    /**
+     * filename extensions of image assets, in lower case
+     */
+    final private static Set<String> imageExtensions
+            = new HashSet<>(Arrays.asList("bmp", "dds", "gif", "hdr", "jpeg",
+                    "jpg", "ktx", "pfm", "png", "tga"));
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private AssetReferences() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Discover the sub-assets referenced by the specified J3O or J3M asset,
+     * including those referenced indirectly via J3M files. Only locatable
+     * sub-assets are added.
+     *
+     * @param assetManager for locating assets (not null)
+     * @param key the key of the model or material (not null, unaffected)
+     * @param addKeys the list to append keys to, in discovery order (not null,
+     * modified)
+     * @return the contents of the asset, or null if it couldn't be read
+     */
+    static byte[] discover(AssetManager assetManager, AssetKey<?> key,
+            List<AssetKey<?>> addKeys) {
+        Set<String> visited = new HashSet<>(8);
+        visited.add(key.getName());
+        byte[] result = scan(assetManager, key, visited, addKeys);
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add a key for the specified path, unless it was already visited or
+     * can't be located. Materials are scanned recursively.
+     *
+     * @param assetManager for locating assets (not null)
+     * @param key the key to add (not null)
+     * @param visited the asset paths already visited (not null, modified)
+     * @param addResult the list to append to (not null, modified)
+     */
+    private static void addKey(AssetManager assetManager, AssetKey<?> key,
+            Set<String> visited, List<AssetKey<?>> addResult) {
+        String assetPath = key.getName();
+        if (!visited.add(assetPath)
+                || assetManager.locateAsset(key) == null) {
+            return;
+        }
+
+        addResult.add(key);
+        if ("j3m".equals(extension(assetPath))) {
+            scan(assetManager, key, visited, addResult);
+        }
+    }
+
+    /**
+     * Return the lower-case filename extension of the specified path.
+     *
+     * @param assetPath the path to analyze (not null)
+     * @return the extension (not null, may be empty)
+     */
+    private static String extension(String assetPath) {
+        int dotIndex = assetPath.lastIndexOf('.');
+        String result = (dotIndex < 0) ? ""
+                : assetPath.substring(dotIndex + 1).toLowerCase(Locale.ROOT);
+
+        return result;
+    }
+
+    /**
+     * Find length-prefixed strings in J3O data that end with a recognized
+     * asset extension.
+     *
+     * @param bytes the J3O data (not null, unaffected)
+     * @param images true to include image paths, false to exclude them
+     * @param addPaths the collection to add paths to (not null, modified)
+     */
+    private static void findBinaryPaths(
+            byte[] bytes, boolean images, Collection<String> addPaths) {
+        /*
+         * BinaryExporter writes each string as a compressed length (a byte
+         * count from 1 to 4, followed by that many big-endian bytes) and then
+         * the string's bytes.
+         */
+        int index = 0;
+        while (index + 2 + minPathLength <= bytes.length) {
+            int numLengthBytes = bytes[index];
+            int start = index + 1 + numLengthBytes;
+            ++index;
+            if (numLengthBytes < 1 || numLengthBytes > 4
+                    || start > bytes.length) {
+                continue;
+            }
+            int length = 0;
+            for (int j = index; j < start; ++j) {
+                length = (length << 8) | (bytes[j] & 0xff);
+            }
+            if (length < minPathLength || length > maxPathLength
+                    || start + length > bytes.length
+                    || !isPrintable(bytes, start, length)) {
+                continue;
+            }
+
+            String string = new String(
+                    bytes, start, length, StandardCharsets.US_ASCII);
+            String extension = extension(string);
+            if (extension.equals("j3m") || extension.equals("j3md")
+                    || images && imageExtensions.contains(extension)) {
+                addPaths.add(string);
+                index = start + length; // skip past the string
+            }
+        }
+    }
+
+    /**
+     * Decode the serialized TextureKeys in J3O data, using the class table and
+     * location table in its header.
+     *
+     * @param bytes the J3O data (not null, unaffected)
+     * @param addKeys the list to append keys to (not null, modified)
+     * @return true if the header was understood, false if it's malformed
+     */
+    private static boolean findTextureKeys(
+            byte[] bytes, List<TextureKey> addKeys) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes); // big-endian, like J3O
+        Map<Byte, String> fieldNames = new HashMap<>(8);
+        try {
+            byte[] alias = readClassTable(buffer, fieldNames);
+            int numLocations = buffer.getInt();
+            if (numLocations < 0 || numLocations > buffer.remaining() / 8) {
+                return false;
+            }
+            int[] locations = new int[numLocations];
+            for (int locIndex = 0; locIndex < numLocations; ++locIndex) {
+                buffer.getInt(); // skip the savable's ID
+                locations[locIndex] = buffer.getInt();
+            }
+            buffer.getInt(); // skip the number of root IDs
+            buffer.getInt(); // skip the root ID
+            int dataStart = buffer.position();
+
+            byte[] savableAlias = new byte[(alias == null) ? 0 : alias.length];
+            for (int locIndex = 0; alias != null && locIndex < numLocations;
+                    ++locIndex) {
+                buffer.position(dataStart + locations[locIndex]);
+                buffer.get(savableAlias);
+                if (Arrays.equals(savableAlias, alias)) {
+                    int dataLength = buffer.getInt();
+                    int end = buffer.position() + dataLength;
+                    TextureKey key = readTextureKey(buffer, end, fieldNames);
+                    if (key != null) {
+                        addKeys.add(key);
+                    }
+                }
+            }
+
+        } catch (BufferUnderflowException
+                | IllegalArgumentException exception) {
+            logger.log(Level.FINE, "malformed J3O header", exception);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Test whether the specified bytes are all printable ASCII.
+     *
+     * @param bytes the data to test (not null, unaffected)
+     * @param start the index of the first byte to test
+     * @param length the number of bytes to test
+     * @return true if all are printable, otherwise false
+     */
+    private static boolean isPrintable(byte[] bytes, int start, int length) {
+        for (int j = start; j < start + length; ++j) {
+            if (bytes[j] < 0x20 || bytes[j] > 0x7e) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Create a key for an asset path found in a model or material.
+     *
+     * @param assetPath the path (not null)
+     * @param flipY true if the J3M requests a flipped texture
+     * @return a new key
+     */
+    private static AssetKey<?> keyFor(String assetPath, boolean flipY) {
+        AssetKey<?> result;
+        String extension = extension(assetPath);
+        if (imageExtensions.contains(extension)) {
+            TextureKey textureKey = new TextureKey(assetPath, flipY);
+            textureKey.setGenerateMips(true);
+            result = textureKey;
+        } else if (extension.equals("j3m")) {
+            result = AssetKind.Material.createKey(assetPath);
+        } else {
+            result = AssetKind.MaterialDef.createKey(assetPath);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the entire contents of the specified asset.
+     *
+     * @param info the located asset (not null)
+     * @return a new array
+     * @throws IOException if the asset can't be read
+     */
+    private static byte[] readAll(AssetInfo info) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(4096);
+        try (InputStream stream = info.openStream()) {
+            byte[] buffer = new byte[8192];
+            int numRead = stream.read(buffer);
+            while (numRead >= 0) {
+                result.write(buffer, 0, numRead);
+                numRead = stream.read(buffer);
+            }
+        }
+
+        return result.toByteArray();
+    }
+
+    /**
+     * Read the class table at the start of J3O data, noting the field aliases
+     * of TextureKey.
+     *
+     * @param buffer the J3O data (not null, positioned at the start, advanced
+     * past the class table)
+     * @param storeFieldNames the map to store TextureKey's field names in,
+     * keyed by alias (not null, modified)
+     * @return the class alias of TextureKey, or null if there are no
+     * TextureKeys
+     */
+    private static byte[] readClassTable(
+            ByteBuffer buffer, Map<Byte, String> storeFieldNames) {
+        int formatVersion = 0;
+        int numClasses = buffer.getInt();
+        if (numClasses == FormatVersion.SIGNATURE) {
+            formatVersion = buffer.getInt();
+            numClasses = buffer.getInt();
+        }
+        // BinaryExporter computes the alias width in single precision.
+        float log256 = (float) (Math.log(numClasses) / Math.log(256.0));
+        int aliasWidth = (int) log256 + 1;
+
+        byte[] result = null;
+        String textureKeyClass = TextureKey.class.getName();
+        for (int classIndex = 0; classIndex < numClasses; ++classIndex) {
+            byte[] alias = new byte[aliasWidth];
+            buffer.get(alias);
+            if (formatVersion >= 1) { // skip the class-hierarchy versions
+                int numVersions = buffer.get() & 0xff;
+                buffer.position(buffer.position() + 4 * numVersions);
+            }
+            String className = readString(buffer, buffer.getInt());
+            boolean isTextureKey = textureKeyClass.equals(className);
+            if (isTextureKey) {
+                result = alias;
+            }
+
+            int numFields = buffer.get() & 0xff;
+            for (int fieldIndex = 0; fieldIndex < numFields; ++fieldIndex) {
+                byte fieldAlias = buffer.get();
+                buffer.get(); // skip the field type
+                String fieldName = readString(buffer, buffer.getInt());
+                if (isTextureKey) {
+                    storeFieldNames.put(fieldAlias, fieldName);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Read an int in the compressed format of BinaryOutputCapsule: a byte
+     * count (from 0 to 4) followed by that many big-endian bytes, or else a
+     * single negative byte (-1 for null).
+     *
+     * @param buffer the data to read (not null, advanced)
+     * @return the value
+     */
+    private static int readCompressedInt(ByteBuffer buffer) {
+        int numBytes = buffer.get();
+        if (numBytes < 0) {
+            return numBytes;
+        }
+
+        int result = 0;
+        for (int byteIndex = 0; byteIndex < numBytes; ++byteIndex) {
+            result = (result << 8) | (buffer.get() & 0xff);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read a string of the specified length, encoded in UTF-8.
+     *
+     * @param buffer the data to read (not null, advanced)
+     * @param length the length of the encoding (in bytes), or -1 for null
+     * @return a new string, or null
+     */
+    private static String readString(ByteBuffer buffer, int length) {
+        if (length < 0) {
+            return null;
+        } else if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        String result = new String(bytes, StandardCharsets.UTF_8);
+
+        return result;
+    }
+
+    /**
+     * Decode the fields of a serialized TextureKey. Any field not written by
+     * TextureKey.write() ends the decoding, since its size is unknown.
+     *
+     * @param buffer the data to read (not null, positioned at the first field,
+     * advanced)
+     * @param end the position just past the last field
+     * @param fieldNames the names of TextureKey's fields, keyed by alias (not
+     * null, unaffected)
+     * @return a new key, or null if it has no name
+     */
+    private static TextureKey readTextureKey(
+            ByteBuffer buffer, int end, Map<Byte, String> fieldNames) {
+        String name = null;
+        boolean asCube = false;
+        boolean flipY = false;
+        boolean generateMips = false;
+        int anisotropy = 0;
+        String typeHint = null;
+        boolean understood = true;
+        while (understood && buffer.position() < end) {
+            String fieldName = fieldNames.get(buffer.get());
+            switch (String.valueOf(fieldName)) {
+                case "anisotropy":
+                    anisotropy = readCompressedInt(buffer);
+                    break;
+                case "as_cubemap":
+                    asCube = (buffer.get() != 0);
+                    break;
+                case "as_texture3D":
+                    buffer.get(); // superseded by "tex_type"
+                    break;
+                case "flip_y":
+                    flipY = (buffer.get() != 0);
+                    break;
+                case "generate_mips":
+                    generateMips = (buffer.get() != 0);
+                    break;
+                case "name":
+                    name = readString(buffer, readCompressedInt(buffer));
+                    break;
+                case "tex_type":
+                    typeHint = readString(buffer, readCompressedInt(buffer));
+                    break;
+                default:
+                    understood = false;
+            }
+        }
+        if (name == null) {
+            return null;
+        }
+
+        TextureKey result = new TextureKey(name, flipY);
+        result.setGenerateMips(generateMips);
+        result.setAnisotropy(anisotropy);
+        if (asCube) {
+            result.setTextureTypeHint(Texture.Type.CubeMap);
+        } else if (typeHint != null) {
+            result.setTextureTypeHint(Texture.Type.valueOf(typeHint));
+        }
+
+        return result;
+    }
+
+    /**
+     * Scan the specified J3O or J3M asset for references.
+     *
+     * @param assetManager for locating assets (not null)
+     * @param key the key of the asset to scan (not null)
+     * @param visited the asset paths already visited (not null, modified)
+     * @param addResult the list to append to (not null, modified)
+     * @return the contents of the asset, or null if it couldn't be read
+     */
+    private static byte[] scan(AssetManager assetManager, AssetKey<?> key,
+            Set<String> visited, List<AssetKey<?>> addResult) {
+        AssetInfo info = assetManager.locateAsset(key);
+        if (info == null) {
+            return null;
+        }
+        byte[] result;
+        try {
+            result = readAll(info);
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "failed to scan " + key, exception);
+            return null;
+        }
+
+        if ("j3m".equals(extension(key.getName()))) {
+            String text = new String(result, StandardCharsets.UTF_8);
+            for (String line : text.split("\\R")) {
+                scanMaterialLine(assetManager, line, visited, addResult);
+            }
+        } else {
+            scanJ3o(assetManager, result, visited, addResult);
+        }
+
+        return result;
+    }
+
+    /**
+     * Add keys for the textures, materials, and material definitions
+     * referenced by J3O data.
+     *
+     * @param assetManager for locating assets (not null)
+     * @param bytes the J3O data (not null, unaffected)
+     * @param visited the asset paths already visited (not null, modified)
+     * @param addResult the list to append to (not null, modified)
+     */
+    private static void scanJ3o(AssetManager assetManager, byte[] bytes,
+            Set<String> visited, List<AssetKey<?>> addResult) {
+        List<TextureKey> textureKeys = new ArrayList<>(8);
+        boolean exact = findTextureKeys(bytes, textureKeys);
+        for (TextureKey textureKey : textureKeys) {
+            addKey(assetManager, textureKey, visited, addResult);
+        }
+
+        // If the header is malformed, guess the texture keys instead.
+        List<String> paths = new ArrayList<>(8);
+        findBinaryPaths(bytes, !exact, paths);
+        for (String path : paths) {
+            AssetKey<?> subKey = keyFor(path, false);
+            addKey(assetManager, subKey, visited, addResult);
+        }
+    }
+
+    /**
+     * Parse one line of a J3M file for a material definition or a texture.
+     *
+     * @param assetManager for locating assets (not null)
+     * @param line the line to parse (not null)
+     * @param visited the asset paths already visited (not null, modified)
+     * @param addResult the list to append to (not null, modified)
+     */
+    private static void scanMaterialLine(AssetManager assetManager,
+            String line, Set<String> visited, List<AssetKey<?>> addResult) {
+        String trimmed = line.trim();
+        int colonIndex = trimmed.indexOf(':');
+        if (colonIndex < 0) {
+            return;
+        }
+
+        String value = trimmed.substring(colonIndex + 1).trim();
+        if (trimmed.startsWith("Material ")) {
+            // for example, "Material Rock : MatDefs/Rock.j3md {"
+            value = value.replace("{", "").trim();
+            addKey(assetManager, keyFor(value, false), visited, addResult);
+            return;
+        }
+
+        String[] tokens = value.split("\\s+");
+        String last = tokens[tokens.length - 1];
+        if (imageExtensions.contains(extension(last))) {
+            // for example, "DiffuseMap : Flip Repeat Textures/rock.png"
+            boolean flipY = Arrays.asList(tokens).contains("Flip");
+            addKey(assetManager, keyFor(last, flipY), visited, addResult);
+        }
+    }
+}
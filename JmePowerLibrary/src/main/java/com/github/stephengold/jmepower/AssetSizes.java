@@ -0,0 +1,225 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.font.BitmapFont;
+import com.jme3.material.MatParam;
+import com.jme3.material.MatParamTexture;
+import com.jme3.material.Material;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.SceneGraphVisitorAdapter;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Utility methods to estimate the memory footprint of loaded assets.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class AssetSizes {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * nominal footprint of an asset whose size can't be estimated (in bytes)
+     */
+    final public static long nominalBytes = 1024L;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(AssetSizes.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private AssetSizes() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Estimate the number of bytes of buffer data referenced by the specified
+     * asset. Buffers shared within the asset are counted only once.
+     *
+     * @param asset the asset to analyze (may be null, unaffected)
+     * @return the estimated number of bytes (&ge;0)
+     */
+    public static long estimateBytes(Object asset) {
+        Set<Object> visited
+                = Collections.newSetFromMap(new IdentityHashMap<>());
+        long result = estimateBytes(asset, visited);
+
+        return result;
+    }
+
+    /**
+     * Estimate the number of bytes of image data in the specified Image.
+     *
+     * @param image the Image to analyze (may be null, unaffected)
+     * @return the estimated number of bytes (&ge;0)
+     */
+    public static long imageBytes(Image image) {
+        long result = 0L;
+        if (image != null) {
+            List<ByteBuffer> dataList = image.getData();
+            for (ByteBuffer data : dataList) {
+                if (data != null) {
+                    result += data.capacity();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Estimate the number of bytes of data in the specified VertexBuffer.
+     *
+     * @param vertexBuffer the buffer to analyze (may be null, unaffected)
+     * @return the estimated number of bytes (&ge;0)
+     */
+    public static long vertexBufferBytes(VertexBuffer vertexBuffer) {
+        long result = 0L;
+        if (vertexBuffer != null) {
+            Buffer data = vertexBuffer.getData();
+            VertexBuffer.Format format = vertexBuffer.getFormat();
+            if (data != null && format != null) {
+                result = (long) data.capacity() * format.getComponentSize();
+            }
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Estimate the number of bytes of buffer data referenced by the specified
+     * asset, skipping objects that have already been visited.
+     *
+     * @param asset the asset to analyze (may be null, unaffected)
+     * @param visited objects already counted (not null, added to)
+     * @return the estimated number of bytes (&ge;0)
+     */
+    private static long estimateBytes(Object asset, Set<Object> visited) {
+        if (asset == null || !visited.add(asset)) {
+            return 0L;
+        }
+
+        long result;
+        if (asset instanceof Texture) {
+            Image image = ((Texture) asset).getImage();
+            result = estimateBytes(image, visited);
+
+        } else if (asset instanceof Image) {
+            result = imageBytes((Image) asset);
+
+        } else if (asset instanceof Material) {
+            result = materialBytes((Material) asset, visited);
+
+        } else if (asset instanceof Mesh) {
+            result = 0L;
+            for (VertexBuffer vertexBuffer : ((Mesh) asset).getBufferList()) {
+                if (visited.add(vertexBuffer)) {
+                    result += vertexBufferBytes(vertexBuffer);
+                }
+            }
+
+        } else if (asset instanceof Spatial) {
+            result = spatialBytes((Spatial) asset, visited);
+
+        } else if (asset instanceof BitmapFont) {
+            BitmapFont font = (BitmapFont) asset;
+            result = 0L;
+            int numPages = font.getPageSize();
+            for (int pageIndex = 0; pageIndex < numPages; ++pageIndex) {
+                Material page = font.getPage(pageIndex);
+                result += estimateBytes(page, visited);
+            }
+
+        } else {
+            result = nominalBytes;
+        }
+
+        return result;
+    }
+
+    /**
+     * Estimate the number of bytes of texture data referenced by the specified
+     * Material.
+     *
+     * @param material the Material to analyze (not null, unaffected)
+     * @param visited objects already counted (not null, added to)
+     * @return the estimated number of bytes (&ge;0)
+     */
+    private static long materialBytes(Material material, Set<Object> visited) {
+        long result = 0L;
+        for (MatParam param : material.getParams()) {
+            if (param instanceof MatParamTexture) {
+                Texture texture = ((MatParamTexture) param).getTextureValue();
+                result += estimateBytes(texture, visited);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Estimate the number of bytes of mesh and texture data referenced by the
+     * specified scene-graph subtree.
+     *
+     * @param subtree the subtree to analyze (not null, unaffected)
+     * @param visited objects already counted (not null, added to)
+     * @return the estimated number of bytes (&ge;0)
+     */
+    private static long spatialBytes(
+            Spatial subtree, final Set<Object> visited) {
+        final long[] total = {0L};
+        subtree.depthFirstTraversal(new SceneGraphVisitorAdapter() {
+            @Override
+            public void visit(Geometry geometry) {
+                total[0] += estimateBytes(geometry.getMesh(), visited);
+                total[0] += estimateBytes(geometry.getMaterial(), visited);
+            }
+        });
+
+        return total[0];
+    }
+}
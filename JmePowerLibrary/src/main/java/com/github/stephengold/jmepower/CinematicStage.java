@@ -0,0 +1,405 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.cinematic.Cinematic;
+import com.jme3.cinematic.PlayState;
+import com.jme3.input.InputManager;
+import com.jme3.input.KeyInput;
+import com.jme3.input.controls.ActionListener;
+import com.jme3.input.controls.KeyTrigger;
+import com.jme3.light.PointLight;
+import com.jme3.light.SpotLight;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.Renderer;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.shape.Quad;
+import com.jme3.shadow.EdgeFilteringMode;
+import com.jme3.shadow.SpotLightShadowRenderer;
+import com.jme3.texture.FrameBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import com.jme3.texture.Texture2D;
+import java.util.logging.Logger;
+import jme3utilities.MyAsset;
+
+/**
+ * A 3-D stage for the loading screen: lights, shadows, floor, status text, and
+ * a Cinematic of Jaime. Its resources are created on first use and kept
+ * resident between loading phases, so that later phases can re-attach them in
+ * a single frame.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class CinematicStage extends LoadingStage {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final static Logger logger
+            = Logger.getLogger(CinematicStage.class.getName());
+    /**
+     * name of the input mapping to cancel the Cinematic
+     */
+    final private static String cancelAction = "cancel cinematic";
+    /**
+     * name of the input mapping to pause the Cinematic
+     */
+    final private static String pauseAction = "toggle pause";
+    // *************************************************************************
+    // fields
+
+    /**
+     * listen for the Tab key
+     */
+    final private ActionListener cancelListener = new ActionListener() {
+        @Override
+        public void onAction(String name, boolean keyPressed, float tpf) {
+            if (cinematic != null) {
+                cinematic.stop();
+            }
+        }
+    };
+    /**
+     * listen for the Pause key
+     */
+    final private ActionListener pauseListener = new ActionListener() {
+        @Override
+        public void onAction(String name, boolean keyPressed, float tpf) {
+            if (keyPressed && cinematic != null) {
+                PlayState playState = cinematic.getPlayState();
+                if (playState == PlayState.Playing) {
+                    cinematic.pause();
+                } else if (playState == PlayState.Paused) {
+                    cinematic.play();
+                }
+            }
+        }
+    };
+
+    /**
+     * entertain the user, or null if not started
+     */
+    private Cinematic cinematic;
+    /**
+     * the floor that Jaime lands on, or null if not built yet
+     */
+    private Geometry floor;
+    /**
+     * the root of Jaime's C-G model, or null if not loaded yet
+     */
+    private Node jaime;
+    /**
+     * secondary lighting for the Cinematic
+     */
+    private PointLight pointLight;
+    /**
+     * primary lighting for the Cinematic
+     */
+    private SpotLight spotlight;
+    /**
+     * shadows for the Cinematic
+     */
+    private ShadowRenderer shadowRenderer;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty stage for the specified application.
+     *
+     * @param application the application instance (not null, alias created)
+     */
+    CinematicStage(SimpleApplication application) {
+        super(application);
+    }
+    // *************************************************************************
+    // LoadingStage methods
+
+    /**
+     * Attach the lights, shadows, floor, status text, and key mappings,
+     * building them on first use, and position the camera.
+     */
+    @Override
+    void attach() {
+        SimpleApplication application = getApplication();
+        if (floor == null) {
+            build();
+        }
+
+        Node rootNode = application.getRootNode();
+        rootNode.addLight(spotlight);
+        rootNode.addLight(pointLight);
+        rootNode.attachChild(floor);
+
+        ViewPort viewPort = application.getViewPort();
+        if (!viewPort.getProcessors().contains(shadowRenderer)) {
+            viewPort.addProcessor(shadowRenderer);
+        }
+
+        Camera camera = application.getCamera();
+        camera.setLocation(new Vector3f(0f, 1.2f, 2.7f));
+        camera.lookAt(new Vector3f(0f, 0.5f, 0f), Vector3f.UNIT_Y);
+
+        attachText();
+
+        InputManager inputManager = application.getInputManager();
+        if (!inputManager.hasMapping(cancelAction)) {
+            inputManager.addListener(cancelListener, cancelAction);
+            KeyTrigger trigger = new KeyTrigger(KeyInput.KEY_TAB);
+            inputManager.addMapping(cancelAction, trigger);
+
+            inputManager.addListener(pauseListener, pauseAction);
+            trigger = new KeyTrigger(KeyInput.KEY_PAUSE);
+            inputManager.addMapping(pauseAction, trigger);
+        }
+    }
+
+    /**
+     * Detach everything that attach() and startCinematic() attached, but keep
+     * the resources resident for reuse. Has no effect on a stage that isn't
+     * attached.
+     */
+    @Override
+    void detach() {
+        SimpleApplication application = getApplication();
+        if (cinematic != null) {
+            AppStateManager stateManager = application.getStateManager();
+            stateManager.detach(cinematic);
+            this.cinematic = null;
+        }
+        if (floor == null) {
+            return;
+        }
+
+        Node rootNode = application.getRootNode();
+        rootNode.removeLight(pointLight);
+        rootNode.removeLight(spotlight);
+        floor.removeFromParent();
+        if (jaime != null) {
+            jaime.removeFromParent();
+        }
+        ViewPort viewPort = application.getViewPort();
+        if (viewPort.getProcessors().contains(shadowRenderer)) {
+            viewPort.removeProcessor(shadowRenderer);
+        }
+        detachText();
+
+        InputManager inputManager = application.getInputManager();
+        if (inputManager.hasMapping(cancelAction)) {
+            inputManager.deleteMapping(cancelAction);
+            inputManager.removeListener(cancelListener);
+
+            inputManager.deleteMapping(pauseAction);
+            inputManager.removeListener(pauseListener);
+        }
+    }
+
+    /**
+     * Test whether the resources of this stage are already resident.
+     *
+     * @return true if resident, otherwise false
+     */
+    @Override
+    boolean isResident() {
+        boolean result = (jaime != null);
+        return result;
+    }
+
+    /**
+     * Delete the native objects of Jaime, the floor, and the shadow maps,
+     * evict Jaime and his textures from the AssetCache, and forget all
+     * stage-specific resources.
+     *
+     * @return the estimated number of bytes released (&ge;0)
+     */
+    @Override
+    long releaseResources() {
+        long result = 0L;
+        if (jaime != null) {
+            result += releaseSpatial(jaime);
+            AssetKey<?> key = jaime.getKey();
+            if (key != null) { // the cached original shares the meshes
+                getApplication().getAssetManager().deleteFromCache(key);
+            }
+            this.jaime = null;
+        }
+        if (floor != null) {
+            result += releaseSpatial(floor);
+            Renderer renderer = getApplication().getRenderer();
+            result += shadowRenderer.release(renderer);
+
+            this.floor = null;
+            this.pointLight = null;
+            this.shadowRenderer = null;
+            this.spotlight = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Update the status display.
+     *
+     * @param message the text to display (not null)
+     * @param fraction the fraction of the work that's done (&ge;0, &le;1)
+     */
+    @Override
+    void setStatus(String message, float fraction) {
+        setText(message);
+    }
+
+    /**
+     * Set up and play a short Cinematic of Jaime, loading the model on first
+     * use. Replays always start from Jaime's initial position.
+     *
+     * @return the new Cinematic (not null)
+     */
+    @Override
+    Cinematic startCinematic() {
+        SimpleApplication application = getApplication();
+        if (jaime == null) {
+            AssetManager assetManager = application.getAssetManager();
+            this.jaime = JaimeCinematic.loadJaime(assetManager);
+        }
+        Node rootNode = application.getRootNode();
+        rootNode.attachChild(jaime);
+        jaime.setLocalTranslation(0f, 0f, -3f);
+        this.cinematic = JaimeCinematic.createCinematic(rootNode, jaime);
+
+        application.getStateManager().attach(cinematic);
+        cinematic.play();
+
+        return cinematic;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Create the lights, shadow renderer, and floor.
+     */
+    private void build() {
+        SimpleApplication application = getApplication();
+        this.spotlight = new SpotLight();
+        Vector3f position = new Vector3f(1f, 10f, 4f);
+        Vector3f direction = position.normalize().negateLocal();
+        spotlight.setDirection(direction);
+        spotlight.setPosition(position);
+        spotlight.setSpotInnerAngle(0.004f);
+        spotlight.setSpotOuterAngle(0.12f);
+
+        // a PointLight to fake indirect lighting from the ground
+        this.pointLight = new PointLight();
+        pointLight.setColor(ColorRGBA.White.mult(1.5f));
+        pointLight.setPosition(Vector3f.UNIT_Z);
+        pointLight.setRadius(2f);
+
+        AssetManager assetManager = application.getAssetManager();
+        this.shadowRenderer = new ShadowRenderer(assetManager, 512);
+        shadowRenderer.setEdgeFilteringMode(EdgeFilteringMode.PCF8);
+        shadowRenderer.setLight(spotlight);
+        shadowRenderer.setShadowIntensity(0.5f);
+
+        this.floor = buildFloor(assetManager);
+    }
+
+    /**
+     * Construct a geometry for the floor that Jaime lands on.
+     *
+     * @param assetManager for loading assets (not null)
+     * @return a new object without a parent
+     */
+    private static Geometry buildFloor(AssetManager assetManager) {
+        String assetPath = "/Textures/JmePower/powered-by.jpeg";
+        Texture tex = assetManager.loadTexture(assetPath);
+        Material material = MyAsset.createShadedMaterial(assetManager, tex);
+
+        Quad mesh = new Quad(2.2f, 2.2f);
+        Geometry result = new Geometry("floor", mesh);
+        result.rotate(-FastMath.HALF_PI, 0f, 0f);
+        result.center();
+        result.setMaterial(material);
+        result.setShadowMode(RenderQueue.ShadowMode.Receive);
+
+        return result;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * A shadow renderer whose shadow maps can be deleted from the GPU.
+     */
+    final private static class ShadowRenderer
+            extends SpotLightShadowRenderer {
+        /**
+         * Instantiate a shadow renderer with the specified map size.
+         *
+         * @param assetManager for loading assets (not null)
+         * @param mapSize the size of the shadow map (in pixels, &gt;0)
+         */
+        ShadowRenderer(AssetManager assetManager, int mapSize) {
+            super(assetManager, mapSize);
+        }
+
+        /**
+         * Delete the shadow maps and their frame buffers from the GPU.
+         *
+         * @param renderer the renderer to use (not null)
+         * @return the estimated number of bytes released (&ge;0)
+         */
+        long release(Renderer renderer) {
+            long result = 0L;
+            if (shadowFB != null) {
+                for (FrameBuffer frameBuffer : shadowFB) {
+                    renderer.deleteFrameBuffer(frameBuffer);
+                }
+            }
+            if (shadowMaps != null) {
+                for (Texture2D map : shadowMaps) {
+                    Image image = map.getImage();
+                    // a 32-bit depth texture that exists only on the GPU:
+                    result += 4L * image.getWidth() * image.getHeight();
+                    renderer.deleteImage(image);
+                }
+            }
+
+            return result;
+        }
+    }
+}
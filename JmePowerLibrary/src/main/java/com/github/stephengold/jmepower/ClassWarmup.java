@@ -0,0 +1,198 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * A Loadable to load and initialize a recorded list of classes, so that the
+ * first real use of (say) the j3o importer, the shader loaders, physics, or
+ * audio doesn't pay for class loading and static initialization.
+ * <p>
+ * The list is plain text, one binary class name per line, with "#" starting
+ * a comment. It can be compiled from the class-loading log of a real run using
+ * the MakeClassList application in JmePowerAssets. Classes that can't be found
+ * or initialized are skipped.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class ClassWarmup implements Loadable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(ClassWarmup.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * the loader used to find the classes
+     */
+    final private ClassLoader classLoader;
+    /**
+     * binary names of the classes to warm up, in order
+     */
+    final private List<String> classNames;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a Loadable for the specified classes. The current thread's
+     * context class loader will be used to find them.
+     *
+     * @param classNames the binary names of the classes to warm up, in order
+     * (not null, unaffected)
+     */
+    public ClassWarmup(Collection<String> classNames) {
+        Validate.nonNull(classNames, "class names");
+
+        this.classNames = new ArrayList<>(classNames);
+        ClassLoader contextLoader
+                = Thread.currentThread().getContextClassLoader();
+        this.classLoader = (contextLoader == null)
+                ? ClassWarmup.class.getClassLoader() : contextLoader;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the number of classes to warm up.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countClasses() {
+        int result = classNames.size();
+        return result;
+    }
+
+    /**
+     * Read a class list from the specified classpath resource.
+     *
+     * @param resourcePath the path to the resource (not null, not empty)
+     * @return a new Loadable
+     * @throws IOException if the resource can't be found or read
+     */
+    public static ClassWarmup fromResource(String resourcePath)
+            throws IOException {
+        Validate.nonEmpty(resourcePath, "resource path");
+
+        InputStream stream
+                = ClassWarmup.class.getResourceAsStream(resourcePath);
+        if (stream == null) {
+            throw new IOException("resource not found: " + resourcePath);
+        }
+        try {
+            ClassWarmup result = read(stream);
+            return result;
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Read a class list from the specified stream.
+     *
+     * @param stream the stream to read (not null, not closed)
+     * @return a new Loadable
+     * @throws IOException if the stream can't be read
+     */
+    public static ClassWarmup read(InputStream stream) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(stream, StandardCharsets.UTF_8));
+        List<String> names = new ArrayList<>(256);
+        String line = reader.readLine();
+        while (line != null) {
+            int hashIndex = line.indexOf('#');
+            String name = (hashIndex < 0) ? line : line.substring(0, hashIndex);
+            name = name.trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+            line = reader.readLine();
+        }
+        ClassWarmup result = new ClassWarmup(names);
+
+        return result;
+    }
+    // *************************************************************************
+    // Loadable methods
+
+    /**
+     * Load and initialize each class in the list.
+     *
+     * @param assetManager ignored
+     */
+    @Override
+    public void load(AssetManager assetManager) {
+        int numSkipped = 0;
+        for (String className : classNames) {
+            try {
+                Class.forName(className, true, classLoader);
+            } catch (ClassNotFoundException | LinkageError exception) {
+                ++numSkipped;
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "skipped {0}: {1}",
+                            new Object[]{className, exception});
+                }
+            }
+        }
+
+        if (logger.isLoggable(Level.INFO)) {
+            int numLoaded = classNames.size() - numSkipped;
+            logger.log(Level.INFO, "warmed up {0} classes, skipped {1}",
+                    new Object[]{numLoaded, numSkipped});
+        }
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this Loadable as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = "ClassWarmup[" + classNames.size() + " classes]";
+        return result;
+    }
+}
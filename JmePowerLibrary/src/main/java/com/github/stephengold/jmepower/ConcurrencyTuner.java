@@ -0,0 +1,296 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * Choose how many Preloaders of a pool may load at once, by hill-climbing on
+ * the measured throughput.
+ * <p>
+ * Throughput is measured in windows of at least 100 ms, weighting each
+ * Loadable by its size (if known). After each window, the tuner compares the
+ * throughput with that of the previous window: if the last step helped, it
+ * takes another step in the same direction; if the step hurt, it reverses
+ * direction; otherwise it holds, so it settles at the best concurrency for the
+ * host. While holding, it probes a neighbor every few windows, in case the
+ * workload has changed.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class ConcurrencyTuner implements PreloadListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * relative change in throughput regarded as noise
+     */
+    final private static double tolerance = 0.05;
+    /**
+     * number of consecutive holds before probing a neighbor
+     */
+    final private static int holdsPerProbe = 8;
+    /**
+     * minimum number of Loadables per window
+     */
+    final private static int minWindowLoads = 4;
+    /**
+     * weight of a Loadable whose size isn't known (in bytes)
+     */
+    final private static long defaultBytes = 64L * 1024L;
+    /**
+     * minimum duration of a window (in nanoseconds)
+     */
+    final private static long minWindowNanos = 100L * 1000L * 1000L;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(ConcurrencyTuner.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the last step undid a harmful step, otherwise false
+     */
+    private boolean reverted;
+    /**
+     * throughput of the previous window (in bytes per second) or 0 if none
+     */
+    private double lastThroughput;
+    /**
+     * work completed during the current window (in bytes)
+     */
+    private double windowBytes;
+    /**
+     * direction of the next step (+1 or -1)
+     */
+    private int direction = 1;
+    /**
+     * maximum number of Preloaders allowed to load at once
+     */
+    final private int maxThreads;
+    /**
+     * number of consecutive windows without a step
+     */
+    private int numHolds;
+    /**
+     * number of Loadables completed during the current window
+     */
+    private int numWindowLoads;
+    /**
+     * number of Preloaders currently allowed to load at once
+     */
+    private volatile int target;
+    /**
+     * start time of the current window (from System.nanoTime()) or 0 if not
+     * started
+     */
+    private long windowStartNanos;
+    /**
+     * determine the sizes of Loadables
+     */
+    private LoadEstimator estimator = new LoadEstimator();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a tuner that starts with 2 Preloaders (or fewer, if the
+     * maximum is smaller).
+     *
+     * @param maxThreads the maximum number of Preloaders allowed to load at
+     * once (&ge;1)
+     */
+    public ConcurrencyTuner(int maxThreads) {
+        Validate.positive(maxThreads, "max threads");
+
+        this.maxThreads = maxThreads;
+        this.target = Math.min(2, maxThreads);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the number of Preloaders currently allowed to load at once.
+     *
+     * @return the count (&ge;1, &le;maxThreads)
+     */
+    public int countAllowed() {
+        return target;
+    }
+
+    /**
+     * Return the maximum number of Preloaders allowed to load at once.
+     *
+     * @return the count (&ge;1)
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Test whether the Preloader with the specified index may load now.
+     *
+     * @param threadIndex the index of the Preloader within its pool (&ge;0)
+     * @return true if allowed, otherwise false
+     */
+    boolean isAllowed(int threadIndex) {
+        boolean result = (threadIndex < target);
+        return result;
+    }
+
+    /**
+     * Use the sizes known to the specified estimator, so that throughput is
+     * weighted consistently with the estimated progress. Invoked by
+     * PreloadPool.
+     *
+     * @param estimator the estimator to use (not null, alias created)
+     */
+    synchronized void setEstimator(LoadEstimator estimator) {
+        this.estimator = estimator;
+    }
+
+    /**
+     * Return the throughput measured during the most recent window.
+     *
+     * @return the throughput (in bytes per second, &ge;0) or 0 if not
+     * measured yet
+     */
+    public synchronized double throughput() {
+        return lastThroughput;
+    }
+    // *************************************************************************
+    // PreloadListener methods
+
+    /**
+     * Callback invoked after a Loadable finishes.
+     *
+     * @param loadable the Loadable that finished (not null)
+     * @param latencyNanos the time spent in the Loadable (in nanoseconds)
+     */
+    @Override
+    public synchronized void loadFinished(
+            Loadable loadable, long latencyNanos) {
+        long numBytes = estimator.sizeOf(loadable);
+        this.windowBytes += (numBytes > 0L) ? numBytes : defaultBytes;
+        ++numWindowLoads;
+
+        long elapsedNanos = System.nanoTime() - windowStartNanos;
+        if (elapsedNanos >= minWindowNanos
+                && numWindowLoads >= minWindowLoads) {
+            double throughput = 1e9 * windowBytes / elapsedNanos;
+            adjust(throughput);
+
+            this.lastThroughput = throughput;
+            this.numWindowLoads = 0;
+            this.windowBytes = 0.0;
+            this.windowStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Callback invoked before a Loadable starts.
+     *
+     * @param loadable the Loadable about to start (not null)
+     */
+    @Override
+    public synchronized void loadStarted(Loadable loadable) {
+        if (windowStartNanos == 0L) {
+            this.windowStartNanos = System.nanoTime();
+        }
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this tuner as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = String.format("ConcurrencyTuner[%d of %d]",
+                target, maxThreads);
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Compare the throughput of the window just completed with that of the
+     * previous window and adjust the target concurrency.
+     *
+     * @param throughput the throughput of the window just completed (in bytes
+     * per second, &ge;0)
+     */
+    private void adjust(double throughput) {
+        boolean stepped = (numHolds == 0); // did a step precede this window?
+        boolean helped = throughput > lastThroughput * (1.0 + tolerance);
+        boolean hurt = throughput < lastThroughput * (1.0 - tolerance);
+        boolean wasReverted = reverted;
+        this.reverted = false;
+
+        boolean step;
+        if (lastThroughput <= 0.0) {
+            step = true; // first window: explore upward
+        } else if (stepped && wasReverted) {
+            step = false; // back at a good setting, so stay there
+        } else if (stepped && helped) {
+            step = true; // the last step helped, so keep going
+        } else if (stepped && hurt) {
+            this.direction = -direction; // the last step hurt, so go back
+            this.reverted = true;
+            step = true;
+        } else {
+            step = (numHolds >= holdsPerProbe); // settled: probe a neighbor
+        }
+
+        int newTarget = target + direction;
+        if (newTarget < 1 || newTarget > maxThreads) {
+            this.direction = -direction;
+            newTarget = target + direction;
+            step = step && newTarget >= 1 && newTarget <= maxThreads;
+        }
+
+        if (!step) {
+            ++numHolds;
+            return;
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE,
+                    "concurrency {0} -> {1} at {2} KiB/s", new Object[]{
+                        target, newTarget, (long) (throughput / 1024.0)
+                    });
+        }
+        this.numHolds = 0;
+        this.target = newTarget;
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.material.MatParam;
+import com.jme3.material.MatParamTexture;
+import com.jme3.material.Material;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.SceneGraphVisitorAdapter;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Share identical image data and vertex buffers among preloaded assets, so
+ * that each distinct Image or VertexBuffer occupies heap and GPU memory only
+ * once, even if it's loaded under several asset paths.
+ * <p>
+ * Each decoded Image and static VertexBuffer is hashed by content. When the
+ * hash matches one seen earlier, the contents are compared, and if they're
+ * identical, the earlier instance replaces the new one in its Texture or
+ * Mesh. Buffers of animated meshes and buffers with non-static usage are
+ * never shared, since they might be modified in place.
+ * <p>
+ * A deduplicator holds strong references to the instances it has shared, so
+ * it should be discarded when preloading is done.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ContentDeduplicator {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * multiplier for hash mixing (the 64-bit golden ratio)
+     */
+    final private static long mixMultiplier = 0x9E3779B97F4A7C15L;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(ContentDeduplicator.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * count instances replaced by identical ones
+     */
+    final private AtomicInteger numShared = new AtomicInteger();
+    /**
+     * total size of the replaced instances (in bytes)
+     */
+    final private AtomicLong bytesSaved = new AtomicLong();
+    /**
+     * the first Image seen for each content hash
+     */
+    final private ConcurrentMap<Long, Image> images
+            = new ConcurrentHashMap<>();
+    /**
+     * the first VertexBuffer seen for each content hash
+     */
+    final private ConcurrentMap<Long, VertexBuffer> vertexBuffers
+            = new ConcurrentHashMap<>();
+    /**
+     * instances already in the maps, which needn't be hashed again
+     */
+    final private Set<Object> canonical = Collections.newSetFromMap(
+            Collections.synchronizedMap(new IdentityHashMap<>()));
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Determine the total size of the instances replaced so far.
+     *
+     * @return the number of bytes saved (&ge;0)
+     */
+    public long countBytesSaved() {
+        long result = bytesSaved.get();
+        return result;
+    }
+
+    /**
+     * Count the instances replaced so far.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countShared() {
+        int result = numShared.get();
+        return result;
+    }
+
+    /**
+     * Share identical images and vertex buffers between the specified asset
+     * (and its cached original, if any) and previously deduplicated assets.
+     * Textures, materials, and spatials are deduplicated; other assets are
+     * ignored.
+     *
+     * @param assetManager the AssetManager that loaded the asset (not null)
+     * @param key the asset's key (not null)
+     * @param asset the asset that was loaded (may be null, modified)
+     */
+    public void deduplicate(
+            AssetManager assetManager, AssetKey<?> key, Object asset) {
+        Set<Object> visited
+                = Collections.newSetFromMap(new IdentityHashMap<>());
+        Object original = (key.getCacheType() == null)
+                ? null : assetManager.getFromCache(key);
+        if (original != null && original != asset) {
+            // A clone may own a copy of the Texture, so share with it too.
+            visit(original, visited);
+            if (original instanceof Texture && asset instanceof Texture) {
+                Image image = ((Texture) original).getImage();
+                ((Texture) asset).setImage(image);
+            }
+        }
+        visit(asset, visited);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Return the canonical Image with the same content as the specified one.
+     *
+     * @param image the Image to look up (not null, unaffected)
+     * @return the canonical instance (possibly the argument)
+     */
+    private Image canonical(Image image) {
+        if (canonical.contains(image)) {
+            return image;
+        }
+        List<ByteBuffer> dataList = image.getData();
+        if (dataList == null || dataList.isEmpty()
+                || dataList.contains(null)) {
+            return image;
+        }
+
+        long hash = mix(image.getFormat().ordinal(), image.getWidth());
+        hash = mix(hash, image.getHeight());
+        hash = mix(hash, image.getDepth());
+        for (ByteBuffer data : dataList) {
+            hash = hash(hash, data);
+        }
+
+        Image result = images.putIfAbsent(hash, image);
+        if (result == null) {
+            canonical.add(image);
+            result = image;
+        } else if (!sameContent(result, image)) {
+            result = image; // a hash collision
+        } else {
+            recordShared(AssetSizes.imageBytes(image), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Return the canonical VertexBuffer with the same content as the
+     * specified one.
+     *
+     * @param buffer the VertexBuffer to look up (not null, unaffected)
+     * @return the canonical instance (possibly the argument)
+     */
+    private VertexBuffer canonical(VertexBuffer buffer) {
+        if (canonical.contains(buffer)
+                || buffer.getUsage() != VertexBuffer.Usage.Static
+                || rewound(buffer.getData()) == null) {
+            return buffer;
+        }
+
+        long hash = mix(buffer.getBufferType().ordinal(),
+                buffer.getFormat().ordinal());
+        hash = mix(hash, buffer.getNumComponents());
+        hash = hash(hash, buffer.getData());
+
+        VertexBuffer result = vertexBuffers.putIfAbsent(hash, buffer);
+        if (result == null) {
+            canonical.add(buffer);
+            result = buffer;
+        } else if (!sameContent(result, buffer)) {
+            result = buffer; // a hash collision
+        } else {
+            recordShared(AssetSizes.vertexBufferBytes(buffer), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Mix the elements of the specified buffer into a hash.
+     *
+     * @param seed the hash so far
+     * @param data the buffer to hash (not null, unaffected)
+     * @return the new hash
+     */
+    private static long hash(long seed, Buffer data) {
+        Buffer buffer = rewound(data);
+        if (buffer == null) {
+            return seed;
+        }
+
+        long result = mix(seed, buffer.remaining());
+        if (buffer instanceof ByteBuffer) {
+            ByteBuffer bytes = (ByteBuffer) buffer;
+            while (bytes.remaining() >= 8) {
+                result = mix(result, bytes.getLong());
+            }
+            while (bytes.hasRemaining()) {
+                result = mix(result, bytes.get());
+            }
+        } else if (buffer instanceof FloatBuffer) {
+            FloatBuffer floats = (FloatBuffer) buffer;
+            while (floats.hasRemaining()) {
+                result = mix(result, Float.floatToRawIntBits(floats.get()));
+            }
+        } else if (buffer instanceof ShortBuffer) {
+            ShortBuffer shorts = (ShortBuffer) buffer;
+            while (shorts.hasRemaining()) {
+                result = mix(result, shorts.get());
+            }
+        } else if (buffer instanceof IntBuffer) {
+            IntBuffer ints = (IntBuffer) buffer;
+            while (ints.hasRemaining()) {
+                result = mix(result, ints.get());
+            }
+        } else if (buffer instanceof DoubleBuffer) {
+            DoubleBuffer doubles = (DoubleBuffer) buffer;
+            while (doubles.hasRemaining()) {
+                double value = doubles.get();
+                result = mix(result, Double.doubleToRawLongBits(value));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Mix a value into a hash.
+     *
+     * @param hash the hash so far
+     * @param value the value to mix in
+     * @return the new hash
+     */
+    private static long mix(long hash, long value) {
+        long result = (hash ^ value) * mixMultiplier;
+        result ^= result >>> 29;
+
+        return result;
+    }
+
+    /**
+     * Account for an instance replaced by an identical one.
+     *
+     * @param numBytes the size of the replaced instance (in bytes, &ge;0)
+     * @param replacement the canonical instance (not null)
+     */
+    private void recordShared(long numBytes, Object replacement) {
+        numShared.incrementAndGet();
+        bytesSaved.addAndGet(numBytes);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "shared {0} saving {1} bytes",
+                    new Object[]{replacement, numBytes});
+        }
+    }
+
+    /**
+     * Duplicate and rewind the specified buffer, so its content can be read
+     * without disturbing the original.
+     *
+     * @param data the buffer to duplicate (may be null, unaffected)
+     * @return a new view, or null if the buffer is null or of an unsupported
+     * type
+     */
+    private static Buffer rewound(Buffer data) {
+        Buffer result;
+        if (data instanceof ByteBuffer) {
+            result = ((ByteBuffer) data).duplicate();
+        } else if (data instanceof FloatBuffer) {
+            result = ((FloatBuffer) data).duplicate();
+        } else if (data instanceof ShortBuffer) {
+            result = ((ShortBuffer) data).duplicate();
+        } else if (data instanceof IntBuffer) {
+            result = ((IntBuffer) data).duplicate();
+        } else if (data instanceof DoubleBuffer) {
+            result = ((DoubleBuffer) data).duplicate();
+        } else {
+            return null;
+        }
+        result.rewind();
+
+        return result;
+    }
+
+    /**
+     * Test whether 2 images have identical formats, dimensions, and data.
+     *
+     * @param image1 the first Image (not null, unaffected)
+     * @param image2 the 2nd Image (not null, unaffected)
+     * @return true if identical, otherwise false
+     */
+    private static boolean sameContent(Image image1, Image image2) {
+        if (image1.getFormat() != image2.getFormat()
+                || image1.getWidth() != image2.getWidth()
+                || image1.getHeight() != image2.getHeight()
+                || image1.getDepth() != image2.getDepth()
+                || image1.getMultiSamples() != image2.getMultiSamples()
+                || image1.getColorSpace() != image2.getColorSpace()
+                || !Arrays.equals(
+                        image1.getMipMapSizes(), image2.getMipMapSizes())) {
+            return false;
+        }
+
+        List<ByteBuffer> dataList1 = image1.getData();
+        List<ByteBuffer> dataList2 = image2.getData();
+        int numBuffers = dataList1.size();
+        if (dataList2.size() != numBuffers) {
+            return false;
+        }
+        for (int bufferIndex = 0; bufferIndex < numBuffers; ++bufferIndex) {
+            Buffer data1 = rewound(dataList1.get(bufferIndex));
+            Buffer data2 = rewound(dataList2.get(bufferIndex));
+            if (!data1.equals(data2)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Test whether 2 vertex buffers have identical layouts and data.
+     *
+     * @param buffer1 the first VertexBuffer (not null, unaffected)
+     * @param buffer2 the 2nd VertexBuffer (not null, unaffected)
+     * @return true if identical, otherwise false
+     */
+    private static boolean sameContent(
+            VertexBuffer buffer1, VertexBuffer buffer2) {
+        if (buffer1.getBufferType() != buffer2.getBufferType()
+                || buffer1.getFormat() != buffer2.getFormat()
+                || buffer1.getNumComponents() != buffer2.getNumComponents()
+                || buffer1.getUsage() != buffer2.getUsage()
+                || buffer1.isNormalized() != buffer2.isNormalized()
+                || buffer1.getInstanceSpan() != buffer2.getInstanceSpan()
+                || buffer1.getStride() != buffer2.getStride()
+                || buffer1.getOffset() != buffer2.getOffset()) {
+            return false;
+        }
+
+        Buffer data1 = rewound(buffer1.getData());
+        Buffer data2 = rewound(buffer2.getData());
+        boolean result = data1.equals(data2);
+
+        return result;
+    }
+
+    /**
+     * Replace the buffers of the specified Mesh with canonical instances,
+     * unless the Mesh is animated.
+     *
+     * @param mesh the Mesh to modify (not null)
+     */
+    private void shareBuffers(Mesh mesh) {
+        if (mesh.getBuffer(VertexBuffer.Type.BoneIndex) != null
+                || mesh.getBuffer(VertexBuffer.Type.HWBoneIndex) != null) {
+            return; // skinning might modify the buffers in place
+        }
+
+        VertexBuffer[] buffers = mesh.getBufferList().getArray();
+        for (VertexBuffer buffer : buffers) {
+            VertexBuffer replacement = canonical(buffer);
+            if (replacement != buffer) {
+                mesh.clearBuffer(buffer.getBufferType());
+                mesh.setBuffer(replacement);
+            }
+        }
+    }
+
+    /**
+     * Deduplicate the specified asset, skipping objects already visited.
+     *
+     * @param asset the asset to modify (may be null)
+     * @param visited objects already visited (not null, added to)
+     */
+    private void visit(Object asset, Set<Object> visited) {
+        if (asset == null || !visited.add(asset)) {
+            return;
+        }
+
+        if (asset instanceof Texture) {
+            Texture texture = (Texture) asset;
+            Image image = texture.getImage();
+            if (image != null) {
+                Image replacement = canonical(image);
+                if (replacement != image) {
+                    texture.setImage(replacement);
+                }
+            }
+
+        } else if (asset instanceof Material) {
+            for (MatParam param : ((Material) asset).getParams()) {
+                if (param instanceof MatParamTexture) {
+                    visit(((MatParamTexture) param).getTextureValue(), visited);
+                }
+            }
+
+        } else if (asset instanceof Spatial) {
+            visitSpatial((Spatial) asset, visited);
+        }
+    }
+
+    /**
+     * Deduplicate the meshes and materials of the specified scene-graph
+     * subtree, skipping objects already visited.
+     *
+     * @param subtree the subtree to modify (not null)
+     * @param visited objects already visited (not null, added to)
+     */
+    private void visitSpatial(Spatial subtree, final Set<Object> visited) {
+        subtree.depthFirstTraversal(new SceneGraphVisitorAdapter() {
+            @Override
+            public void visit(Geometry geometry) {
+                Mesh mesh = geometry.getMesh();
+                if (visited.add(mesh)) {
+                    shareBuffers(mesh);
+                }
+                Material material = geometry.getMaterial();
+                ContentDeduplicator.this.visit(material, visited);
+            }
+        });
+    }
+}
@@ -0,0 +1,526 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.CloneableSmartAsset;
+import com.jme3.asset.ModelKey;
+import com.jme3.export.FormatVersion;
+import com.jme3.export.Savable;
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.export.binary.BinaryImporter;
+import com.jme3.system.JmeVersion;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.MyString;
+import jme3utilities.Validate;
+
+/**
+ * A persistent cache of models converted from slow source formats (such as
+ * glTF or OBJ) to binary J3O, stored in a local directory.
+ * <p>
+ * Each entry is keyed by a SHA-256 hash of the asset path, the source file's
+ * content, and the versions of the engine and the J3O format, so a changed
+ * source or an engine upgrade simply misses. Each entry also records the
+ * assets requested during the conversion (such as an OBJ's MTL file or a
+ * glTF's external buffers) with hashes of their content, and a dependency
+ * that has changed since then causes a miss as well. Finally, each entry
+ * carries a SHA-256 hash of its own content, so a truncated or corrupted
+ * entry is deleted and reconverted. When the entries exceed the size budget,
+ * the least-recently used ones are deleted.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ConvertedAssetCache {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * version of the entry layout, to invalidate entries when it changes
+     */
+    final private static int layoutVersion = 2;
+    /**
+     * number of bytes in an entry header: magic number plus SHA-256 hash
+     */
+    final private static int headerBytes = 4 + 32;
+    /**
+     * magic number at the start of each entry ("JPWC")
+     */
+    final private static int magic = 0x4a505743;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(ConvertedAssetCache.class.getName());
+    /**
+     * filename suffix of entries
+     */
+    final private static String entrySuffix = ".j3o";
+    // *************************************************************************
+    // fields
+
+    /**
+     * count loads satisfied from the cache
+     */
+    final private AtomicInteger numHits = new AtomicInteger();
+    /**
+     * count loads that converted the source
+     */
+    final private AtomicInteger numMisses = new AtomicInteger();
+    /**
+     * directory containing the entries
+     */
+    final private File directory;
+    /**
+     * maximum total size of the entries (in bytes)
+     */
+    final private long budgetBytes;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a cache in the specified directory, which will be created
+     * if necessary.
+     *
+     * @param directory the directory to use (not null)
+     * @param budgetBytes the maximum total size of the entries (in bytes,
+     * &gt;0)
+     */
+    public ConvertedAssetCache(File directory, long budgetBytes) {
+        Validate.nonNull(directory, "directory");
+        if (budgetBytes <= 0L) {
+            throw new IllegalArgumentException("budget must be positive");
+        }
+
+        this.directory = directory;
+        this.budgetBytes = budgetBytes;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the loads satisfied from the cache.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countHits() {
+        int result = numHits.get();
+        return result;
+    }
+
+    /**
+     * Count the loads that converted the source.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countMisses() {
+        int result = numMisses.get();
+        return result;
+    }
+
+    /**
+     * Test whether the specified asset would be cached: only models in
+     * formats other than J3O are.
+     *
+     * @param key the key of the asset (not null, unaffected)
+     * @return true if cacheable, otherwise false
+     */
+    public boolean isConvertible(AssetKey<?> key) {
+        String extension = key.getExtension();
+        boolean result = key instanceof ModelKey
+                && key.getCacheType() != null
+                && extension != null
+                && !extension.equalsIgnoreCase("j3o");
+
+        return result;
+    }
+
+    /**
+     * Load the specified model into the AssetCache, from its cache entry if
+     * possible, otherwise from its source (writing a new entry).
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the model (not null, convertible)
+     * @return the loaded asset, as AssetManager.loadAsset() would return it
+     */
+    public Object load(AssetManager assetManager, AssetKey<?> key) {
+        Object result = load(assetManager, key, null);
+        return result;
+    }
+
+    /**
+     * Load the specified model into the AssetCache, from its cache entry if
+     * possible, otherwise from its source (writing a new entry).
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the model (not null, convertible)
+     * @param source the source's content (closed by this method) or null to
+     * read it using the AssetManager
+     * @return the loaded asset, as AssetManager.loadAsset() would return it
+     */
+    @SuppressWarnings("unchecked")
+    Object load(AssetManager assetManager, AssetKey<?> key,
+            InputStream source) {
+        byte[] sourceBytes;
+        try {
+            sourceBytes = readSource(assetManager, key, source);
+        } catch (IOException exception) {
+            throw new AssetLoadException("failed to read " + key, exception);
+        }
+        if (sourceBytes == null) { // let the AssetManager report the error
+            Object result = assetManager.loadAsset(key);
+            return result;
+        }
+
+        File entry = new File(directory, entryName(key, sourceBytes));
+        Savable converted = readEntry(assetManager, entry);
+        if (converted == null) {
+            numMisses.incrementAndGet();
+            Object result = convert(assetManager, key, sourceBytes, entry);
+            return result;
+        }
+
+        numHits.incrementAndGet();
+        if (converted instanceof CloneableSmartAsset) {
+            ((CloneableSmartAsset) converted).setKey(key);
+        }
+        AssetKey<Object> objectKey = (AssetKey<Object>) key;
+        if (assetManager.getFromCache(objectKey) == null) {
+            assetManager.addToCache(objectKey, converted);
+        }
+        Object result = assetManager.loadAsset(key); // a cache hit
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Convert the specified model from its source, as the AssetManager would
+     * (including the key's AssetProcessor), and write a new entry, recording
+     * every asset requested along the way as a dependency.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the model (not null, convertible)
+     * @param sourceBytes the source's content (not null, unaffected)
+     * @param entry the entry to write (not null)
+     * @return the loaded asset, as AssetManager.loadAsset() would return it
+     */
+    private Object convert(AssetManager assetManager, AssetKey<?> key,
+            byte[] sourceBytes, File entry) {
+        DependencyRecorder recorder = new DependencyRecorder(key);
+        assetManager.addAssetEventListener(recorder);
+        Object result;
+        try {
+            InputStream stream = new ByteArrayInputStream(sourceBytes);
+            result = SingleFlightLoader.decode(assetManager, key, stream);
+        } finally {
+            assetManager.removeAssetEventListener(recorder);
+        }
+
+        if (result instanceof Savable) {
+            writeEntry(assetManager, (Savable) result, recorder, entry);
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate the SHA-256 hash of the specified data.
+     *
+     * @param data the data to hash (not null, unaffected)
+     * @param offset the index of the first byte to hash (&ge;0)
+     * @param length the number of bytes to hash (&ge;0)
+     * @return a new array of 32 bytes
+     */
+    private static byte[] digest(byte[] data, int offset, int length) {
+        MessageDigest digest = newDigest();
+        digest.update(data, offset, length);
+        byte[] result = digest.digest();
+
+        return result;
+    }
+
+    /**
+     * Generate the filename of the entry for the specified source.
+     *
+     * @param key the key of the model (not null, unaffected)
+     * @param sourceBytes the source's content (not null, unaffected)
+     * @return a filename (not null, not empty)
+     */
+    private static String entryName(AssetKey<?> key, byte[] sourceBytes) {
+        String versions = String.format("%s|%d|%d|%s|", JmeVersion.FULL_NAME,
+                FormatVersion.VERSION, layoutVersion, key.getName());
+        MessageDigest digest = newDigest();
+        digest.update(versions.getBytes(StandardCharsets.UTF_8));
+        digest.update(sourceBytes);
+        byte[] hash = digest.digest();
+
+        StringBuilder builder = new StringBuilder(2 * hash.length + 4);
+        for (byte b : hash) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16));
+            builder.append(Character.forDigit(b & 0xf, 16));
+        }
+        builder.append(entrySuffix);
+
+        return builder.toString();
+    }
+
+    /**
+     * Delete the least-recently used entries until the total size is within
+     * budget.
+     */
+    private synchronized void evict() {
+        File[] entries = directory.listFiles();
+        if (entries == null) {
+            return;
+        }
+
+        long totalBytes = 0L;
+        for (File entry : entries) {
+            totalBytes += entry.length();
+        }
+        if (totalBytes <= budgetBytes) {
+            return;
+        }
+
+        Arrays.sort(entries, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+                int result = Long.compare(
+                        file1.lastModified(), file2.lastModified());
+                return result;
+            }
+        });
+        int numEntries = entries.length;
+        for (int entryIndex = 0;
+                entryIndex < numEntries && totalBytes > budgetBytes;
+                ++entryIndex) {
+            File entry = entries[entryIndex];
+            if (entry.getName().endsWith(entrySuffix)) {
+                long length = entry.length();
+                if (entry.delete()) {
+                    totalBytes -= length;
+                    logger.log(Level.FINE, "evicted {0}", entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Instantiate a SHA-256 message digest.
+     *
+     * @return a new instance
+     */
+    private static MessageDigest newDigest() {
+        try {
+            MessageDigest result = MessageDigest.getInstance("SHA-256");
+            return result;
+        } catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to implement SHA-256.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Read a stream to its end.
+     *
+     * @param stream the stream to read (not null, closed by this method)
+     * @return a new array
+     * @throws IOException if the stream can't be read
+     */
+    private static byte[] readAll(InputStream stream) throws IOException {
+        try (InputStream in = stream;
+                ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] chunk = new byte[64 << 10];
+            int numRead = in.read(chunk);
+            while (numRead >= 0) {
+                out.write(chunk, 0, numRead);
+                numRead = in.read(chunk);
+            }
+            byte[] result = out.toByteArray();
+
+            return result;
+        }
+    }
+
+    /**
+     * Read and verify the specified entry, deleting it if it's corrupt.
+     *
+     * @param assetManager the AssetManager for the importer (not null)
+     * @param entry the entry to read (not null)
+     * @return the imported model, or null if the entry is missing, corrupt,
+     * or out of date
+     */
+    private static Savable readEntry(AssetManager assetManager, File entry) {
+        if (!entry.isFile()) {
+            return null;
+        }
+
+        Savable result = null;
+        try {
+            byte[] bytes = Files.readAllBytes(entry.toPath());
+            int payloadBytes = bytes.length - headerBytes;
+            byte[] expected = Arrays.copyOfRange(bytes, 4, headerBytes);
+            if (payloadBytes > 0 && readInt(bytes) == magic
+                    && Arrays.equals(expected,
+                            digest(bytes, headerBytes, payloadBytes))) {
+                DataInputStream input = new DataInputStream(
+                        new ByteArrayInputStream(
+                                bytes, headerBytes, payloadBytes));
+                if (!DependencyRecorder.isCurrent(assetManager, input)) {
+                    logger.log(Level.FINE, "a dependency of {0} changed",
+                            entry);
+                    return null; // to be replaced by a new conversion
+                }
+                BinaryImporter importer = BinaryImporter.getInstance();
+                importer.setAssetManager(assetManager);
+                result = importer.load(input);
+            }
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "failed to read " + entry, exception);
+        }
+
+        if (result == null) {
+            logger.log(Level.WARNING, "deleting corrupt entry {0}",
+                    MyString.quote(entry.getName()));
+            entry.delete();
+        } else if (!entry.setLastModified(System.currentTimeMillis())) {
+            logger.log(Level.FINE, "can't touch {0}", entry);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read a big-endian int from the start of the specified array.
+     *
+     * @param bytes the array to read (not null, length&ge;4, unaffected)
+     * @return the value
+     */
+    private static int readInt(byte[] bytes) {
+        int result = (bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16
+                | (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff);
+        return result;
+    }
+
+    /**
+     * Read the content of the specified model's source file.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the model (not null)
+     * @param source the source's content (closed by this method) or null to
+     * read it using the AssetManager
+     * @return a new array, or null if the source can't be located
+     * @throws IOException if the source can't be read
+     */
+    private static byte[] readSource(AssetManager assetManager,
+            AssetKey<?> key, InputStream source) throws IOException {
+        InputStream stream = source;
+        if (stream == null) {
+            AssetInfo info = assetManager.locateAsset(key);
+            if (info == null) {
+                return null;
+            }
+            stream = info.openStream();
+        }
+        byte[] result = readAll(stream);
+
+        return result;
+    }
+
+    /**
+     * Write a new entry for the specified model, replacing it atomically.
+     * Failures are logged but otherwise ignored.
+     *
+     * @param assetManager for locating dependencies (not null)
+     * @param model the converted model (not null, unaffected)
+     * @param dependencies the assets requested during conversion (not null)
+     * @param entry the entry to write (not null)
+     */
+    private void writeEntry(AssetManager assetManager, Savable model,
+            DependencyRecorder dependencies, File entry) {
+        File tempFile = null;
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(new byte[headerBytes]); // reserve space for the header
+            DataOutputStream dataOut = new DataOutputStream(out);
+            dependencies.write(assetManager, dataOut);
+            dataOut.flush();
+            BinaryExporter.getInstance().save(model, out);
+            byte[] bytes = out.toByteArray();
+            int payloadBytes = bytes.length - headerBytes;
+            byte[] hash = digest(bytes, headerBytes, payloadBytes);
+            for (int byteIndex = 0; byteIndex < 4; ++byteIndex) {
+                bytes[byteIndex] = (byte) (magic >>> (24 - 8 * byteIndex));
+            }
+            System.arraycopy(hash, 0, bytes, 4, hash.length);
+
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("can't create " + directory);
+            }
+            tempFile = File.createTempFile("entry", ".tmp", directory);
+            Files.write(tempFile.toPath(), bytes);
+            try {
+                Files.move(tempFile.toPath(), entry.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(tempFile.toPath(), entry.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+
+        } catch (IOException | UnsupportedOperationException exception) {
+            // Some controls and custom objects can't be exported.
+            logger.log(Level.WARNING, "failed to write " + entry, exception);
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+            return;
+        }
+
+        evict();
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetEventListener;
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.TextureKey;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * An AssetEventListener that records which assets a single thread requests,
+ * for instance while a model is converted, and the fingerprints needed to
+ * check later whether any of them has changed.
+ * <p>
+ * Textures, material definitions, and the engine's own assets aren't
+ * recorded, because a J3O refers to them by key, so changing them can't make
+ * a conversion stale.
+ * <p>
+ * Each fingerprint is a SHA-256 hash of the asset's content, since AssetInfo
+ * provides no size or modification time. An asset that can't be located has
+ * an all-zero fingerprint.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class DependencyRecorder implements AssetEventListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of bytes in a fingerprint
+     */
+    final private static int fingerprintBytes = 32;
+    /**
+     * largest number of dependencies in a valid record
+     */
+    final private static int maxDependencies = 1 << 16;
+    /**
+     * message logger for this class
+     */
+    final static Logger logger
+            = Logger.getLogger(DependencyRecorder.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * paths of the assets requested so far, in order of first request
+     */
+    final private Set<String> assetPaths = new LinkedHashSet<>(8);
+    /**
+     * path of the asset whose dependencies are recorded, which is itself
+     * excluded
+     */
+    final private String parentPath;
+    /**
+     * the thread whose requests are recorded
+     */
+    final private Thread thread;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a recorder for the current thread.
+     *
+     * @param parentKey the key of the asset whose dependencies will be
+     * recorded (not null, unaffected)
+     */
+    DependencyRecorder(AssetKey<?> parentKey) {
+        this.parentPath = parentKey.getName();
+        this.thread = Thread.currentThread();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read a record written by write() and test whether every dependency
+     * still has the recorded fingerprint.
+     *
+     * @param assetManager for locating the dependencies (not null)
+     * @param input the stream to read (not null, advanced past the record)
+     * @return true if none has changed, otherwise false
+     * @throws IOException if the record can't be read
+     */
+    static boolean isCurrent(AssetManager assetManager, DataInputStream input)
+            throws IOException {
+        int numDependencies = input.readInt();
+        if (numDependencies < 0 || numDependencies > maxDependencies) {
+            throw new IOException("bad dependency count: " + numDependencies);
+        }
+
+        boolean result = true;
+        byte[] recorded = new byte[fingerprintBytes];
+        for (int depIndex = 0; depIndex < numDependencies; ++depIndex) {
+            String assetPath = input.readUTF();
+            input.readFully(recorded);
+            if (result) { // skip hashing once a change is found
+                byte[] actual = fingerprint(assetManager, assetPath);
+                result = Arrays.equals(recorded, actual);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Write a record of the dependencies requested so far and their current
+     * fingerprints. Invoke after the parent asset has been loaded.
+     *
+     * @param assetManager for locating the dependencies (not null)
+     * @param output the stream to write (not null)
+     * @throws IOException if the record can't be written
+     */
+    void write(AssetManager assetManager, DataOutputStream output)
+            throws IOException {
+        output.writeInt(assetPaths.size());
+        for (String assetPath : assetPaths) {
+            output.writeUTF(assetPath);
+            output.write(fingerprint(assetManager, assetPath));
+        }
+    }
+    // *************************************************************************
+    // AssetEventListener methods
+
+    /**
+     * Callback invoked when a dependency of an asset can't be found.
+     *
+     * @param parentKey the key of the asset that depends on it (unaffected)
+     * @param dependentAssetKey the key of the missing asset (not null,
+     * unaffected)
+     */
+    @Override
+    public void assetDependencyNotFound(
+            AssetKey parentKey, AssetKey dependentAssetKey) {
+        assetRequested(dependentAssetKey); // in case it appears later
+    }
+
+    /**
+     * Callback invoked after an asset is loaded.
+     *
+     * @param key the key of the asset (unaffected)
+     */
+    @Override
+    public void assetLoaded(AssetKey key) {
+        // do nothing
+    }
+
+    /**
+     * Callback invoked when an asset is requested, on the requesting thread.
+     *
+     * @param key the key of the asset (not null, unaffected)
+     */
+    @Override
+    public void assetRequested(AssetKey key) {
+        String assetPath = key.getName();
+        if (Thread.currentThread() == thread
+                && !assetPath.equals(parentPath) && !isReference(key)) {
+            assetPaths.add(assetPath);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test whether a J3O refers to the specified asset by key instead of
+     * embedding its content.
+     *
+     * @param key the key of the asset (not null, unaffected)
+     * @return true if referenced by key, otherwise false
+     */
+    private static boolean isReference(AssetKey<?> key) {
+        boolean result = key instanceof TextureKey
+                || "j3md".equals(key.getExtension())
+                || key.getName().startsWith("Common/"); // engine classpath
+
+        return result;
+    }
+
+    /**
+     * Calculate the fingerprint of the specified asset's current content.
+     *
+     * @param assetManager for locating the asset (not null)
+     * @param assetPath the path of the asset (not null)
+     * @return a new array
+     */
+    private static byte[] fingerprint(
+            AssetManager assetManager, String assetPath) {
+        byte[] result = new byte[fingerprintBytes];
+        AssetKey<Object> key = new AssetKey<>(assetPath);
+        try {
+            AssetInfo info = assetManager.locateAsset(key);
+            if (info != null) {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (InputStream stream = info.openStream()) {
+                    byte[] chunk = new byte[64 << 10];
+                    int numRead = stream.read(chunk);
+                    while (numRead >= 0) {
+                        digest.update(chunk, 0, numRead);
+                        numRead = stream.read(chunk);
+                    }
+                }
+                result = digest.digest();
+            }
+
+        } catch (AssetLoadException | IOException exception) {
+            // Treat an unreadable asset like a missing one.
+        } catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to implement SHA-256.
+            throw new IllegalStateException(exception);
+        }
+
+        return result;
+    }
+}
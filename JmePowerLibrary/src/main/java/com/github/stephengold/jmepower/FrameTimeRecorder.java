@@ -0,0 +1,436 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.MyString;
+import jme3utilities.Validate;
+
+/**
+ * An AppState to record the frame times of a JmeLoadingState and flag hitches:
+ * frames that take longer than a threshold.
+ * <p>
+ * Each hitch is attributed, where possible, to garbage collection during the
+ * frame or to a phase transition of the loading state during the frame or the
+ * one before (whose rendering the frame includes). When the loading state
+ * disables itself, a summary with percentiles is logged.
+ * <p>
+ * Timestamps are stored in preallocated ring buffers, so recording a frame
+ * doesn't allocate memory.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class FrameTimeRecorder
+        extends BaseAppState
+        implements PreloadListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * default hitch threshold (in milliseconds, 2 refreshes at 60 Hz)
+     */
+    final private static float defaultHitchMillis = 33.4f;
+    /**
+     * default capacity of the frame ring (in frames)
+     */
+    final private static int defaultCapacity = 4096;
+    /**
+     * capacity of the hitch ring (in hitches)
+     */
+    final private static int maxHitches = 64;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(FrameTimeRecorder.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the loading state was enabled during the previous update
+     */
+    private boolean wasLoading;
+    /**
+     * garbage collectors of the JVM, or null before initialization
+     */
+    private GarbageCollectorMXBean[] collectors;
+    /**
+     * the state being measured
+     */
+    final private JmeLoadingState loading;
+    /**
+     * number of frames recorded since the phase began (including overwritten
+     * ones)
+     */
+    private long frameCount;
+    /**
+     * number of hitches flagged since the phase began (including overwritten
+     * ones)
+     */
+    private long hitchCount;
+    /**
+     * minimum duration of a hitch (in nanoseconds)
+     */
+    final private long hitchNanos;
+    /**
+     * total garbage-collection time reported at the previous frame (in
+     * milliseconds)
+     */
+    private long lastGcMillis;
+    /**
+     * time of the latest phase transition (from System.nanoTime())
+     */
+    private long phaseNanos;
+    /**
+     * end time of each frame (from System.nanoTime())
+     */
+    final private long[] frameNanos;
+    /**
+     * garbage-collection time during each hitch (in milliseconds)
+     */
+    final private long[] hitchGcMillis = new long[maxHitches];
+    /**
+     * frame number of each hitch
+     */
+    final private long[] hitchFrames = new long[maxHitches];
+    /**
+     * duration of each hitch (in nanoseconds)
+     */
+    final private long[] hitchDurations = new long[maxHitches];
+    /**
+     * scratch space for sorting frame durations
+     */
+    final private long[] sortedDurations;
+    /**
+     * name of the latest phase, or null if none yet
+     */
+    private String phaseName;
+    /**
+     * phase transition during each hitch, or null if none
+     */
+    final private String[] hitchPhases = new String[maxHitches];
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an enabled recorder for the specified state, with a
+     * 4096-frame ring and a hitch threshold of 33.4 milliseconds.
+     *
+     * @param loading the state to measure (not null, alias created)
+     */
+    public FrameTimeRecorder(JmeLoadingState loading) {
+        this(loading, defaultCapacity, defaultHitchMillis);
+    }
+
+    /**
+     * Instantiate an enabled recorder for the specified state.
+     *
+     * @param loading the state to measure (not null, alias created)
+     * @param capacity the number of frames to retain (&ge;2)
+     * @param hitchMillis the minimum duration of a hitch (in milliseconds,
+     * &gt;0)
+     */
+    public FrameTimeRecorder(
+            JmeLoadingState loading, int capacity, float hitchMillis) {
+        Validate.nonNull(loading, "loading state");
+        Validate.inRange(capacity, "capacity", 2, Integer.MAX_VALUE);
+        Validate.positive(hitchMillis, "hitch threshold");
+
+        this.loading = loading;
+        this.frameNanos = new long[capacity];
+        this.sortedDurations = new long[capacity - 1];
+        this.hitchNanos = Math.round(hitchMillis * 1e6);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the frame durations recorded during the latest phase, including
+     * those no longer retained.
+     *
+     * @return the count (&ge;0)
+     */
+    public long countFrames() {
+        long result = Math.max(0L, frameCount - 1L);
+        return result;
+    }
+
+    /**
+     * Count the hitches flagged during the latest phase, including those no
+     * longer retained.
+     *
+     * @return the count (&ge;0)
+     */
+    public long countHitches() {
+        return hitchCount;
+    }
+
+    /**
+     * Calculate the specified percentile of the retained frame durations,
+     * using the nearest-rank method.
+     *
+     * @param percent the desired percentile (&gt;0, &le;100)
+     * @return the frame duration (in milliseconds, &ge;0) or 0 if no frames
+     * are retained
+     */
+    public double percentileMillis(double percent) {
+        Validate.inRange(percent, "percent", Double.MIN_VALUE, 100.0);
+
+        int numDurations = sortDurations();
+        if (numDurations == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * numDurations);
+        int index = Math.max(0, rank - 1);
+        double result = sortedDurations[index] / 1e6;
+
+        return result;
+    }
+
+    /**
+     * Summarize the latest phase: the percentiles of the frame durations and
+     * the retained hitches, with their likely causes.
+     *
+     * @return a new multi-line string
+     */
+    public String summary() {
+        StringBuilder result = new StringBuilder(200);
+        result.append(String.format(Locale.ROOT,
+                "%d frames: p50=%.1f ms, p90=%.1f ms, p99=%.1f ms, "
+                + "max=%.1f ms; %d hitches over %.1f ms",
+                countFrames(), percentileMillis(50.0), percentileMillis(90.0),
+                percentileMillis(99.0), percentileMillis(100.0), hitchCount,
+                hitchNanos / 1e6));
+
+        long first = Math.max(0L, hitchCount - maxHitches);
+        for (long hitchIndex = first; hitchIndex < hitchCount; ++hitchIndex) {
+            int slot = (int) (hitchIndex % maxHitches);
+            result.append(String.format(Locale.ROOT,
+                    "%n  frame %d took %.1f ms", hitchFrames[slot],
+                    hitchDurations[slot] / 1e6));
+            if (hitchGcMillis[slot] > 0L) {
+                result.append(String.format(Locale.ROOT,
+                        ", GC %d ms", hitchGcMillis[slot]));
+            }
+            if (hitchPhases[slot] != null) {
+                result.append(", phase ");
+                result.append(MyString.quote(hitchPhases[slot]));
+            }
+            if (hitchGcMillis[slot] <= 0L && hitchPhases[slot] == null) {
+                result.append(", cause unknown");
+            }
+        }
+
+        return result.toString();
+    }
+    // *************************************************************************
+    // BaseAppState methods
+
+    /**
+     * Callback invoked after this AppState is detached or during application
+     * shutdown if the state is still attached. onDisable() is called before
+     * this cleanup() method if the state is enabled at the time of cleanup.
+     *
+     * @param application the application instance (not null)
+     */
+    @Override
+    protected void cleanup(Application application) {
+        loading.removeListener(this);
+    }
+
+    /**
+     * Callback invoked after this AppState is attached but before onEnable().
+     * Attach this state before the loading state (whose initialization
+     * starts preloading), so that no phases are missed.
+     *
+     * @param application the application instance (not null)
+     */
+    @Override
+    protected void initialize(Application application) {
+        List<GarbageCollectorMXBean> beans
+                = ManagementFactory.getGarbageCollectorMXBeans();
+        this.collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+        loading.addListener(this);
+    }
+
+    /**
+     * Callback invoked whenever this AppState ceases to be both attached and
+     * enabled.
+     */
+    @Override
+    protected void onDisable() {
+        this.wasLoading = false;
+    }
+
+    /**
+     * Callback invoked whenever this AppState becomes both attached and
+     * enabled.
+     */
+    @Override
+    protected void onEnable() {
+        // do nothing
+    }
+
+    /**
+     * Callback to update this AppState, invoked once per frame when the
+     * AppState is both attached and enabled.
+     *
+     * @param tpf the time interval between frames (in seconds, &ge;0)
+     */
+    @Override
+    public void update(float tpf) {
+        boolean isLoading = loading.isEnabled();
+        if (isLoading && !wasLoading) { // a new phase began
+            this.frameCount = 0L;
+            this.hitchCount = 0L;
+            this.lastGcMillis = totalGcMillis();
+        } else if (wasLoading && !isLoading) { // the phase ended
+            logger.log(Level.INFO, summary());
+        }
+        this.wasLoading = isLoading;
+
+        if (isLoading) {
+            recordFrame();
+        }
+    }
+    // *************************************************************************
+    // PreloadListener methods
+
+    /**
+     * Callback invoked after a Loadable finishes.
+     *
+     * @param loadable the Loadable that finished (not null)
+     * @param latencyNanos the time spent in the Loadable (in nanoseconds)
+     */
+    @Override
+    public void loadFinished(Loadable loadable, long latencyNanos) {
+        // do nothing
+    }
+
+    /**
+     * Callback invoked before a Loadable starts.
+     *
+     * @param loadable the Loadable about to start (not null)
+     */
+    @Override
+    public void loadStarted(Loadable loadable) {
+        // do nothing
+    }
+
+    /**
+     * Callback invoked on the render thread when the loading state enters a
+     * new phase.
+     *
+     * @param phaseName the name of the new phase (not null)
+     */
+    @Override
+    public void phaseStarted(String phaseName) {
+        this.phaseName = phaseName;
+        this.phaseNanos = System.nanoTime();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Record the end of a frame and flag it if it's a hitch.
+     */
+    private void recordFrame() {
+        long now = System.nanoTime();
+        int capacity = frameNanos.length;
+        frameNanos[(int) (frameCount % capacity)] = now;
+        ++frameCount;
+        long gcMillis = totalGcMillis();
+        long frameGcMillis = gcMillis - lastGcMillis;
+        this.lastGcMillis = gcMillis;
+        if (frameCount < 2L) {
+            return;
+        }
+
+        long start = frameNanos[(int) ((frameCount - 2L) % capacity)];
+        long duration = now - start;
+        if (duration < hitchNanos) {
+            return;
+        }
+
+        // Rendering of the previous frame is included, so look back 1 frame.
+        long lookBack = (frameCount < 3L)
+                ? start : frameNanos[(int) ((frameCount - 3L) % capacity)];
+        int slot = (int) (hitchCount % maxHitches);
+        hitchFrames[slot] = frameCount - 1L;
+        hitchDurations[slot] = duration;
+        hitchGcMillis[slot] = frameGcMillis;
+        hitchPhases[slot] = (phaseName != null && phaseNanos > lookBack)
+                ? phaseName : null;
+        ++hitchCount;
+    }
+
+    /**
+     * Copy the retained frame durations into the scratch space and sort them.
+     *
+     * @return the number of durations sorted (&ge;0)
+     */
+    private int sortDurations() {
+        int capacity = frameNanos.length;
+        int numDurations = (int) Math.min(countFrames(), capacity - 1);
+        long first = frameCount - numDurations;
+        for (int index = 0; index < numDurations; ++index) {
+            long frameIndex = first + index;
+            long end = frameNanos[(int) (frameIndex % capacity)];
+            long start = frameNanos[(int) ((frameIndex - 1L) % capacity)];
+            sortedDurations[index] = end - start;
+        }
+        Arrays.sort(sortedDurations, 0, numDurations);
+
+        return numDurations;
+    }
+
+    /**
+     * Sum the collection times of all garbage collectors.
+     *
+     * @return the total time (in milliseconds, &ge;0)
+     */
+    private long totalGcMillis() {
+        long result = 0L;
+        for (GarbageCollectorMXBean collector : collectors) {
+            long millis = collector.getCollectionTime();
+            if (millis > 0L) { // -1 if undefined
+                result += millis;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.AssetNotFoundException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * A Loadable to preload the asset with a specific key and deliver it to the
+ * application via a CompletableFuture.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class FutureLoadable implements Loadable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(FutureLoadable.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * key of the asset to load
+     */
+    final private AssetKey<?> key;
+    /**
+     * future to complete with the loaded asset
+     */
+    final private CompletableFuture<Object> future
+            = new CompletableFuture<>();
+    /**
+     * executor used to complete the future, or null to complete it directly
+     * on the loading thread
+     */
+    final private Executor completionExecutor;
+    /**
+     * pins to add the loaded asset to, or null for none
+     */
+    final private PinnedAssetCache pinCache;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a Loadable for the specified key.
+     *
+     * @param key the key of the asset to load (not null, alias created)
+     * @param completionExecutor the executor used to complete the future
+     * (alias created) or null to complete it on the loading thread
+     */
+    public FutureLoadable(AssetKey<?> key, Executor completionExecutor) {
+        this(key, completionExecutor, null);
+    }
+
+    /**
+     * Instantiate a Loadable for the specified key, pinning the loaded asset
+     * until the application takes delivery.
+     *
+     * @param key the key of the asset to load (not null, alias created)
+     * @param completionExecutor the executor used to complete the future
+     * (alias created) or null to complete it on the loading thread
+     * @param pinCache the cache to pin the asset in (alias created) or null
+     * for no pinning
+     */
+    public FutureLoadable(AssetKey<?> key, Executor completionExecutor,
+            PinnedAssetCache pinCache) {
+        Validate.nonNull(key, "key");
+
+        this.key = key;
+        this.completionExecutor = completionExecutor;
+        this.pinCache = pinCache;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Access the future that will be completed with the loaded asset.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompletableFuture<Object> getFuture() {
+        return future;
+    }
+
+    /**
+     * Access the key of the asset to load.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public AssetKey<?> getKey() {
+        return key;
+    }
+    // *************************************************************************
+    // Loadable methods
+
+    /**
+     * Load the asset, pin it (if a cache was specified), and complete the
+     * future. If loading fails, the future is completed exceptionally with the
+     * cause, and any unexpected exception is also rethrown.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     */
+    @Override
+    public void load(AssetManager assetManager) {
+        Object asset;
+        try {
+            asset = SingleFlightLoader.load(assetManager, key);
+            if (pinCache != null) {
+                pinCache.pin(key, asset);
+            }
+
+        } catch (AssetLoadException | AssetNotFoundException exception) {
+            logger.log(Level.WARNING, "failed to load " + key, exception);
+            deliver(null, exception);
+            return;
+
+        } catch (RuntimeException | Error exception) {
+            deliver(null, exception);
+            throw exception;
+        }
+
+        deliver(asset, null);
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this Loadable as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = "FutureLoadable[" + key + "]";
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Complete the future, using the completion executor if there is one.
+     *
+     * @param asset the loaded asset (may be null)
+     * @param failure the cause of failure, or null if successful
+     */
+    private void deliver(final Object asset, final Throwable failure) {
+        Runnable completion = new Runnable() {
+            @Override
+            public void run() {
+                if (failure == null) {
+                    future.complete(asset);
+                } else {
+                    future.completeExceptionally(failure);
+                }
+            }
+        };
+
+        if (completionExecutor == null) {
+            completion.run();
+        } else {
+            completionExecutor.execute(completion);
+        }
+    }
+}
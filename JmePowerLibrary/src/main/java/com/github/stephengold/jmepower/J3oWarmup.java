@@ -0,0 +1,105 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.export.binary.BinaryImporter;
+import com.jme3.material.Material;
+import com.jme3.material.Materials;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.shape.Box;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+
+/**
+ * A warm-up routine that round-trips a tiny model through the j3o exporter
+ * and importer in memory, so the JIT compiler and the class loader have seen
+ * those code paths (and the material loaders) before the first real model
+ * loads.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class J3oWarmup implements Loadable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of round trips to perform
+     */
+    final private static int numRoundTrips = 4;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(J3oWarmup.class.getName());
+    // *************************************************************************
+    // Loadable methods
+
+    /**
+     * Export a tiny model to bytes and import it back, several times.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     */
+    @Override
+    public void load(AssetManager assetManager) {
+        Material material = new Material(assetManager, Materials.UNSHADED);
+        Geometry geometry = new Geometry("warm-up box", new Box(1f, 1f, 1f));
+        geometry.setMaterial(material);
+        Node model = new Node("warm-up model");
+        model.attachChild(geometry);
+
+        BinaryImporter importer = BinaryImporter.getInstance();
+        importer.setAssetManager(assetManager);
+        try {
+            for (int tripIndex = 0; tripIndex < numRoundTrips; ++tripIndex) {
+                ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                BinaryExporter.getInstance().save(model, stream);
+                importer.load(stream.toByteArray());
+            }
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "j3o warm-up failed", exception);
+        }
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this Loadable as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = "J3oWarmup";
+        return result;
+    }
+}
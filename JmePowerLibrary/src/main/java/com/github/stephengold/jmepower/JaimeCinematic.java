@@ -0,0 +1,184 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.anim.AnimClip;
+import com.jme3.anim.AnimComposer;
+import com.jme3.anim.AnimFactory;
+import com.jme3.anim.SkinningControl;
+import com.jme3.asset.AssetManager;
+import com.jme3.cinematic.Cinematic;
+import com.jme3.cinematic.events.AnimEvent;
+import com.jme3.cinematic.events.CinematicEvent;
+import com.jme3.cinematic.events.CinematicEventListener;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.queue.RenderQueue;
+import com.jme3.scene.Node;
+import java.util.logging.Logger;
+
+/**
+ * Utility methods to construct the Jaime model and its Cinematic for the
+ * loading screen.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class JaimeCinematic {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * target frame duration for animation LOD (in seconds)
+     */
+    final private static float frameBudget = 1f / 30f;
+    /**
+     * maximum number of frames between bone updates
+     */
+    final private static int maxBoneInterval = 4;
+    /**
+     * message logger for this class
+     */
+    final static Logger logger
+            = Logger.getLogger(JaimeCinematic.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private JaimeCinematic() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Create the Cinematic.
+     *
+     * @param rootNode the root of the scene (not null)
+     * @param jaime the root of the monkey's C-G model (not null)
+     * @return a new instance
+     */
+    static Cinematic createCinematic(Node rootNode, final Node jaime) {
+        float duration = 60f; // seconds, overridden by fitDuration()
+        Cinematic cinematic = new Cinematic(rootNode, duration);
+        AnimComposer composer = jaime.getControl(AnimComposer.class);
+        composer.makeLayer("SpatialLayer", null);
+        String boneLayer = AnimComposer.DEFAULT_LAYER;
+
+        AnimEvent idleHalfSecond = new AnimEvent(composer, "Idle", boneLayer);
+        idleHalfSecond.setInitialDuration(0.5f);
+        cinematic.enqueueCinematicEvent(idleHalfSecond);
+        float jumpStart = cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "JumpStart", boneLayer));
+        cinematic.addCinematicEvent(jumpStart + 0.2f,
+                new AnimEvent(composer, "JumpForward", "SpatialLayer"));
+        cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "JumpEnd", boneLayer));
+        cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "Taunt", boneLayer));
+        cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "Punches", boneLayer));
+        cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "SideKick", boneLayer));
+        cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "SideKick", boneLayer));
+        AnimEvent idleOneSecond = new AnimEvent(composer, "Idle", boneLayer);
+        idleOneSecond.setInitialDuration(1f);
+        cinematic.enqueueCinematicEvent(idleOneSecond);
+        cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "Wave", boneLayer));
+        float jumpStart2 = cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "JumpStart", boneLayer));
+        cinematic.addCinematicEvent(jumpStart2 + 0.2f,
+                new AnimEvent(composer, "JumpUpward", boneLayer));
+        cinematic.enqueueCinematicEvent(
+                new AnimEvent(composer, "JumpEnd", boneLayer));
+        AnimEvent idleShort = new AnimEvent(composer, "Idle", boneLayer);
+        idleShort.setInitialDuration(0.2f);
+        cinematic.enqueueCinematicEvent(idleShort);
+
+        cinematic.addListener(new CinematicEventListener() {
+            @Override
+            public void onPlay(CinematicEvent c) {
+                // do nothing
+            }
+
+            @Override
+            public void onPause(CinematicEvent c) {
+                // do nothing
+            }
+
+            @Override
+            public void onStop(CinematicEvent c) {
+                jaime.removeFromParent();
+            }
+        });
+        cinematic.fitDuration();
+        cinematic.setSpeed(1.2f);
+
+        return cinematic;
+    }
+
+    /**
+     * Load the Jaime model with 2 extra animation clips. Skinning is done on
+     * the GPU where supported, and bone updates are throttled whenever frames
+     * exceed the budget.
+     *
+     * @param assetManager for loading assets (not null)
+     * @return a new Node
+     */
+    static Node loadJaime(AssetManager assetManager) {
+        Node result
+                = (Node) assetManager.loadModel("/Models/Jaime/Jaime-new.j3o");
+        result.setShadowMode(RenderQueue.ShadowMode.CastAndReceive);
+
+        // Add a 7-second clip to translate Jaime forward during a jump.
+        float fps = 30f;
+        AnimFactory af = new AnimFactory(7f, "JumpForward", fps);
+        af.addTimeTranslation(0f, new Vector3f(0f, 0f, -3f));
+        af.addTimeTranslation(0.35f, new Vector3f(0f, 1f, -1.5f));
+        af.addTimeTranslation(0.7f, new Vector3f());
+        AnimClip forwardClip = af.buildAnimation(result);
+        AnimComposer composer = result.getControl(AnimComposer.class);
+        composer.addAnimClip(forwardClip);
+
+        // Add a 1-second clip to translate Jaime upward during a jump.
+        af = new AnimFactory(1f, "JumpUpward", fps);
+        af.addTimeTranslation(0f, new Vector3f());
+        af.addTimeTranslation(0.7f, new Vector3f(0f, 4f, 0f));
+        AnimClip upClip = af.buildAnimation(result);
+        composer.addAnimClip(upClip);
+
+        SkinningControl skinning = result.getControl(SkinningControl.class);
+        if (skinning != null) {
+            skinning.setHardwareSkinningPreferred(true);
+            result.addControl(
+                    new AnimationLodControl(frameBudget, maxBoneInterval));
+        }
+
+        return result;
+    }
+}
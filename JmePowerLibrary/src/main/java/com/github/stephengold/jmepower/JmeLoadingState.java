@@ -1,5 +1,5 @@
 /*
- Copyright (c) 2020-2025 Stephen Gold
+ Copyright (c) 2020-2026 Stephen Gold
  All rights reserved.
 
  Redistribution and use in source and binary forms, with or without
@@ -26,54 +26,34 @@
  */
 package com.github.stephengold.jmepower;
 
-import com.jme3.anim.AnimClip;
-import com.jme3.anim.AnimComposer;
-import com.jme3.anim.AnimFactory;
 import com.jme3.app.Application;
 import com.jme3.app.SimpleApplication;
 import com.jme3.app.state.BaseAppState;
+import com.jme3.asset.AssetKey;
 import com.jme3.asset.AssetManager;
 import com.jme3.cinematic.Cinematic;
 import com.jme3.cinematic.PlayState;
-import com.jme3.cinematic.events.AnimEvent;
-import com.jme3.cinematic.events.CinematicEvent;
-import com.jme3.cinematic.events.CinematicEventListener;
-import com.jme3.font.BitmapFont;
-import com.jme3.font.BitmapText;
-import com.jme3.input.InputManager;
-import com.jme3.input.KeyInput;
-import com.jme3.input.controls.ActionListener;
-import com.jme3.input.controls.KeyTrigger;
-import com.jme3.light.PointLight;
-import com.jme3.light.SpotLight;
-import com.jme3.material.Material;
-import com.jme3.material.Materials;
-import com.jme3.math.ColorRGBA;
-import com.jme3.math.FastMath;
-import com.jme3.math.Quaternion;
-import com.jme3.math.Vector3f;
-import com.jme3.renderer.Camera;
-import com.jme3.renderer.queue.RenderQueue;
 import com.jme3.scene.Geometry;
-import com.jme3.scene.Mesh;
-import com.jme3.scene.Node;
-import com.jme3.scene.shape.Quad;
-import com.jme3.shadow.EdgeFilteringMode;
-import com.jme3.shadow.SpotLightShadowRenderer;
-import com.jme3.texture.Texture;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 import jme3utilities.Loadable;
-import jme3utilities.MyAsset;
 import jme3utilities.Validate;
 
 /**
  * An AppState to display a Cinematic while warming up the AssetCache. When its
  * work is done, it disables (but does not detach) itself.
+ * <p>
+ * On low-end hardware, a GUI-only splash screen replaces the Cinematic. In
+ * headless contexts, there are no visuals at all. See {@link LoadingMode}.
+ * <p>
+ * The state can be reused for later loading phases, such as level
+ * transitions: its stage stays resident while the state remains attached, so
+ * each repeat phase starts in a single frame. Detaching the state (or invoking
+ * {@link #releaseStage()}) returns the stage's memory to the application.
  */
 public class JmeLoadingState extends BaseAppState {
     // *************************************************************************
@@ -84,96 +64,71 @@ public class JmeLoadingState extends BaseAppState {
      */
     final public static Logger logger
             = Logger.getLogger(JmeLoadingState.class.getName());
-    /**
-     * name of the input mapping to cancel the Cinematic
-     */
-    final private static String cancelAction = "cancel cinematic";
-    /**
-     * name of the input mapping to pause the Cinematic
-     */
-    final private static String pauseAction = "toggle pause";
     // *************************************************************************
     // fields
 
     /**
-     * listen for the Tab key
+     * true to tune the number of preload threads while loading, false to fix
+     * it
      */
-    final private ActionListener cancelListener = new ActionListener() {
-        @Override
-        public void onAction(String name, boolean keyPressed, float tpf) {
-            if (cinematic != null) {
-                cinematic.stop();
-            }
-        }
-    };
+    private boolean tuning = false;
     /**
-     * listen for the Pause key
-     */
-    final private ActionListener pauseListener = new ActionListener() {
-        @Override
-        public void onAction(String name, boolean keyPressed, float tpf) {
-            if (keyPressed && cinematic != null) {
-                PlayState playState = cinematic.getPlayState();
-                if (playState == PlayState.Playing) {
-                    cinematic.pause();
-                } else if (playState == PlayState.Paused) {
-                    cinematic.play();
-                }
-            }
-        }
-    };
-    /**
-     * display status in the upper-left corner of the GUI node
-     */
-    private BitmapText textNode;
-    /**
-     * entertain the user
+     * entertain the user, or null if not playing
      */
     private Cinematic cinematic;
     /**
-     * monitor how many locally-created threads are running
+     * complete futures on the render thread
      */
-    private CountDownLatch latch;
+    final private Executor renderExecutor = new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+            application.enqueue(runnable);
+        }
+    };
     /**
      * hide what happens in the main scene
      */
     private Geometry shutter;
     /**
-     * total number of tasks
+     * maximum number of preload threads, or 0 for the default
      */
-    final private int numLoadables;
+    private int maxPreloaders = 0;
     /**
      * count update()s for scheduling
      */
     private int updateCount = 0;
     /**
-     * secondary lighting for the Cinematic
+     * listeners to add to the pool of each phase
      */
-    private PointLight pointLight;
+    final private List<PreloadListener> listeners
+            = new CopyOnWriteArrayList<>();
     /**
-     * camera orientation prior to onEnable()
+     * presentation mode, or null to select one automatically during
+     * initialization
      */
-    private Quaternion savedCameraOrientation;
+    private LoadingMode mode;
     /**
-     * assets to be preloaded
+     * visuals of the loading screen, kept resident between phases
      */
-    final private Queue<Loadable> queue;
+    private LoadingStage stage;
     /**
-     * access the AssetManager, InputManager, and scene graphs
+     * pins for the assets submitted in this and all later phases, or null
+     * for no pinning
      */
-    private SimpleApplication application;
+    private PinnedAssetCache pinCache;
     /**
-     * primary lighting for the Cinematic
+     * assets to be preloaded during the current phase and the threads that
+     * load them
      */
-    private SpotLight spotlight;
+    private PreloadPool pool;
     /**
-     * shadows for the Cinematic
+     * access the AssetManager, camera, and scene graphs
      */
-    private SpotLightShadowRenderer shadowRenderer;
+    private SimpleApplication application;
     /**
-     * camera location prior to onEnable()
+     * record a timeline of the loading screen, or null if not tracing
      */
-    private Vector3f savedCameraLocation;
+    private StartupTracer tracer;
     // *************************************************************************
     // constructors
 
@@ -183,10 +138,240 @@ public class JmeLoadingState extends BaseAppState {
      * @param loadables the assets to preload (not null)
      */
     public JmeLoadingState(Loadable... loadables) {
-        this.numLoadables = loadables.length;
-        this.queue = new ArrayBlockingQueue<>(numLoadables);
-        List<Loadable> list = Arrays.asList(loadables);
-        queue.addAll(list);
+        this.pool = new PreloadPool(loadables);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add a named group of assets to be preloaded during the current phase.
+     * Its future completes as soon as the group is done, so game code can
+     * proceed without waiting for everything else. Not allowed after
+     * preloading has begun.
+     *
+     * @param name the name of the group (not null, not empty, unique within
+     * the phase)
+     * @param members the assets to preload (not null)
+     * @return a new group
+     */
+    public PreloadGroup addGroup(String name, Loadable... members) {
+        PreloadGroup result = pool.addGroup(name, members);
+        return result;
+    }
+
+    /**
+     * Add a listener to be notified about each Loadable of the current phase
+     * and all later phases.
+     *
+     * @param listener the listener to add (not null, alias created)
+     */
+    public void addListener(PreloadListener listener) {
+        Validate.nonNull(listener, "listener");
+        listeners.add(listener);
+        pool.addListener(listener);
+    }
+
+    /**
+     * Add a warm-up task (such as a ClassWarmup or a J3oWarmup) to the current
+     * phase. Warm-ups run on preload threads that have nothing else to do,
+     * typically while the Cinematic plays, and don't count toward progress.
+     * Not allowed after preloading has begun.
+     *
+     * @param warmup the warm-up task (not null, alias created)
+     */
+    public void addWarmup(Loadable warmup) {
+        pool.addWarmup(warmup);
+    }
+
+    /**
+     * Begin another loading phase, for instance during a level transition,
+     * and enable this state. The stage is reused, so the new phase starts in a
+     * single frame. Additional assets may be submitted until the next update.
+     * Not allowed while this state is enabled.
+     *
+     * @param loadables the assets to preload (not null)
+     */
+    public void beginPhase(Loadable... loadables) {
+        if (isEnabled()) {
+            throw new IllegalStateException("A phase is already in progress.");
+        }
+
+        this.pool = new PreloadPool(loadables);
+        pool.setPinCache(pinCache);
+        for (PreloadListener listener : listeners) {
+            pool.addListener(listener);
+        }
+        this.updateCount = 0;
+        setEnabled(true);
+    }
+
+    /**
+     * Access the estimator of progress and the time remaining for the current
+     * phase, for custom UIs. Its outputs are updated once per frame.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public LoadEstimator getEstimator() {
+        LoadEstimator result = pool.getEstimator();
+        return result;
+    }
+
+    /**
+     * Access the named group of the current phase.
+     *
+     * @param name the name of the group (not null)
+     * @return the pre-existing instance, or null if none
+     */
+    public PreloadGroup getGroup(String name) {
+        PreloadGroup result = pool.getGroup(name);
+        return result;
+    }
+
+    /**
+     * Determine the presentation mode.
+     *
+     * @return the enum value, or null if not selected yet
+     */
+    public LoadingMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Access the preload pool of the current phase.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public PreloadPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Delete the stage's native objects and evict its own assets (but not
+     * those of the Loadables) from the AssetCache. The next phase rebuilds the
+     * stage. This happens automatically when this state is detached. Not
+     * allowed while this state is enabled.
+     *
+     * @return the estimated number of bytes released (&ge;0)
+     */
+    public long releaseStage() {
+        if (isEnabled()) {
+            throw new IllegalStateException("A phase is in progress.");
+        }
+
+        long result = (stage == null) ? 0L : stage.release();
+        return result;
+    }
+
+    /**
+     * Remove the specified listener from the current phase and all later
+     * phases.
+     *
+     * @param listener the listener to remove (unaffected)
+     */
+    public void removeListener(PreloadListener listener) {
+        listeners.remove(listener);
+        pool.removeListener(listener);
+    }
+
+    /**
+     * Alter the maximum number of preload threads, for this and all later
+     * phases. Takes effect when the next phase starts preloading. By default,
+     * the maximum is 2, except in Headless mode, which uses every core.
+     *
+     * @param maxThreads the desired maximum (&ge;1)
+     */
+    public void setMaxPreloaders(int maxThreads) {
+        Validate.positive(maxThreads, "max threads");
+        this.maxPreloaders = maxThreads;
+    }
+
+    /**
+     * Alter the presentation mode. Not allowed after initialization. If no
+     * mode is specified, one is selected based on the hardware's
+     * capabilities.
+     *
+     * @param newMode the desired mode (not null)
+     */
+    public void setMode(LoadingMode newMode) {
+        Validate.nonNull(newMode, "new mode");
+        if (isInitialized()) {
+            throw new IllegalStateException("Already initialized.");
+        }
+
+        this.mode = newMode;
+    }
+
+    /**
+     * Pin each asset submitted in this and all later phases, so the AssetCache
+     * can't discard it before the application takes delivery. Affects
+     * submissions made after this method is invoked.
+     *
+     * @param pinCache the cache to pin assets in (alias created) or null for
+     * no pinning
+     */
+    public void setPinCache(PinnedAssetCache pinCache) {
+        this.pinCache = pinCache;
+        pool.setPinCache(pinCache);
+    }
+
+    /**
+     * Record a timeline of the loading screen, including the render frames,
+     * the phase transitions, and the Loadables on each preload thread. Not
+     * allowed after preloading has begun.
+     *
+     * @param tracer the tracer to use (not null, alias created)
+     */
+    public void setTracer(StartupTracer tracer) {
+        Validate.nonNull(tracer, "tracer");
+        if (pool.isStarted()) {
+            throw new IllegalStateException("Preloading has already begun.");
+        }
+
+        this.tracer = tracer;
+        addListener(tracer);
+    }
+
+    /**
+     * Enable or disable tuning of the number of preload threads, for this and
+     * all later phases. While tuning, the number of threads allowed to load at
+     * once is adjusted by hill-climbing on the measured throughput, up to the
+     * maximum (by default, the number of available cores). Takes effect when
+     * the next phase starts preloading. Disabled by default.
+     *
+     * @param enable true to tune, false to use a fixed number of threads
+     */
+    public void setTuning(boolean enable) {
+        this.tuning = enable;
+    }
+
+    /**
+     * Add an asset to be preloaded and delivered to the application. Not
+     * allowed after preloading has begun.
+     *
+     * @param key the key of the asset to preload (not null, alias created)
+     * @return a new future, completed on a preload thread
+     */
+    public CompletableFuture<Object> submit(AssetKey<?> key) {
+        CompletableFuture<Object> result = submit(key, false);
+        return result;
+    }
+
+    /**
+     * Add an asset to be preloaded and delivered to the application. Not
+     * allowed after preloading has begun.
+     *
+     * @param key the key of the asset to preload (not null, alias created)
+     * @param onRenderThread true to complete the future (and thus run its
+     * dependent actions) on the render thread, false to complete it on a
+     * preload thread
+     * @return a new future
+     */
+    public CompletableFuture<Object> submit(
+            AssetKey<?> key, boolean onRenderThread) {
+        Executor executor = onRenderThread ? renderExecutor : null;
+        CompletableFuture<Object> result = pool.submit(key, executor);
+
+        return result;
     }
     // *************************************************************************
     // protected methods
@@ -197,7 +382,8 @@ public class JmeLoadingState extends BaseAppState {
      * @return the pre-existing instance (not null)
      */
     final protected CountDownLatch getLatch() {
-        return latch;
+        CountDownLatch result = pool.getLatch();
+        return result;
     }
 
     /**
@@ -209,19 +395,8 @@ public class JmeLoadingState extends BaseAppState {
         Validate.nonNegative(
                 numAdditionalThreads, "number of additional threads");
 
-        // Add all of the loadables to a queue.
-        int maxPreloaders = 2;
-        int numPreloaders = Math.min(numLoadables, maxPreloaders);
-        int numThreadsToCreate = numPreloaders + numAdditionalThreads;
-        this.latch = new CountDownLatch(numThreadsToCreate);
-
-        // Start preload threads to warm up the AssetCache.
         AssetManager assetManager = application.getAssetManager();
-        for (int threadIndex = 0; threadIndex < numPreloaders; ++threadIndex) {
-            Thread thread = new Preloader(queue, assetManager, latch);
-            thread.setPriority(Thread.MIN_PRIORITY);
-            thread.start();
-        }
+        pool.start(assetManager, numAdditionalThreads);
     }
     // *************************************************************************
     // BaseAppState methods
@@ -235,17 +410,26 @@ public class JmeLoadingState extends BaseAppState {
      */
     @Override
     protected void cleanup(Application application) {
-        // do nothing
+        if (stage != null) {
+            stage.release();
+        }
     }
 
     /**
      * Callback invoked after this AppState is attached but before onEnable().
+     * The preload threads of the first phase start here, so they run in
+     * parallel with the setup of the stage.
      *
      * @param application the application instance (not null)
      */
     @Override
     protected void initialize(Application application) {
         this.application = (SimpleApplication) application;
+        if (mode == null) {
+            this.mode = LoadingMode.select(application);
+        }
+        startPreloading();
+        this.stage = LoadingStage.create(mode, this.application);
     }
 
     /**
@@ -254,26 +438,18 @@ public class JmeLoadingState extends BaseAppState {
      */
     @Override
     protected void onDisable() {
-        Camera camera = application.getCamera();
-        camera.setLocation(savedCameraLocation);
-        camera.setRotation(savedCameraOrientation);
-
-        if (textNode != null) {
-            textNode.removeFromParent();
-            textNode = null;
+        if (mode == LoadingMode.Headless) {
+            return;
         }
 
+        stage.restoreCamera();
+        stage.detach();
+        this.cinematic = null;
+
         if (shutter != null) {
             shutter.removeFromParent(); // TODO application should do this
             this.shutter = null;
         }
-
-        InputManager inputManager = application.getInputManager();
-        inputManager.deleteMapping(cancelAction);
-        inputManager.removeListener(cancelListener);
-
-        inputManager.deleteMapping(pauseAction);
-        inputManager.removeListener(pauseListener);
     }
 
     /**
@@ -282,18 +458,13 @@ public class JmeLoadingState extends BaseAppState {
      */
     @Override
     protected void onEnable() {
-        InputManager inputManager = application.getInputManager();
-        inputManager.addListener(cancelListener, cancelAction);
-        KeyTrigger trigger = new KeyTrigger(KeyInput.KEY_TAB);
-        inputManager.addMapping(cancelAction, trigger);
-
-        inputManager.addListener(pauseListener, pauseAction);
-        trigger = new KeyTrigger(KeyInput.KEY_PAUSE);
-        inputManager.addMapping(pauseAction, trigger);
-
-        Camera camera = application.getCamera();
-        this.savedCameraLocation = camera.getLocation().clone();
-        this.savedCameraOrientation = camera.getRotation().clone();
+        // If re-enabled during a phase, re-attach the stage and replay.
+        this.updateCount = 0;
+        if (mode == LoadingMode.Headless) {
+            return;
+        }
+
+        stage.saveCamera();
     }
 
     /**
@@ -305,262 +476,116 @@ public class JmeLoadingState extends BaseAppState {
     @Override
     public void update(float tpf) {
         ++updateCount;
-        long latchCount;
+        if (tracer != null) {
+            tracer.markFrame();
+        }
+        if (mode == LoadingMode.Headless) {
+            updateHeadless();
+            return;
+        }
+
         switch (updateCount) {
             case 1:
-                setupStage();
+                boolean resident = stage.isResident();
+                tracePhase("setup stage");
+                stage.attach();
+                if (resident) {
+                    // Everything is resident, so start the phase right away.
+                    startPreloading();
+                    startCinematic();
+                    this.updateCount = 3;
+                }
                 return;
             case 2:
-                int numAdditionalThreads = 0;
-                startThreads(numAdditionalThreads);
+                startPreloading();
                 return;
             case 3:
                 startCinematic();
                 return;
-
             default: // 4 or more
-                Camera camera = application.getCamera();
-                float displayHeight = camera.getHeight();
-                textNode.setLocalTranslation(0f, displayHeight, 0f);
-
-                latchCount = latch.getCount();
-                String message;
-                if (latchCount > 0) {
-                    long numDone = numLoadables - latchCount;
-                    message = String.format(
-                            "Loaded %d of %d", numDone, numLoadables);
-                } else {
-                    message = "Press [tab] to proceed.";
-                }
-                textNode.setText(message);
-
-                PlayState playState = cinematic.getPlayState();
-                if (playState == PlayState.Paused
-                        || playState == PlayState.Playing) {
-                    return;
-                }
-        }
-
-        // The Cinematic completed or was cancelled by the user.
-        if (latchCount < 1L) {
-            // All asynchronous asset loads have completed.
-            setupShutter();
-
-            Node rootNode = application.getRootNode();
-            rootNode.detachAllChildren();
-            if (pointLight != null) {
-                rootNode.removeLight(pointLight);
-            }
-            if (spotlight != null) {
-                rootNode.removeLight(spotlight);
-            }
-            if (shadowRenderer != null) {
-                application.getViewPort().removeProcessor(shadowRenderer);
-            }
-            getStateManager().detach(cinematic);
-            setEnabled(false);
+                updateStage();
         }
     }
     // *************************************************************************
     // private methods
 
     /**
-     * Load the Jaime model with 2 extra animation clips.
-     *
-     * @return a new Node
+     * Start (or restart) the Cinematic of the current phase.
      */
-    private Node loadJaime() {
-        AssetManager assetManager = application.getAssetManager();
-        Node result
-                = (Node) assetManager.loadModel("/Models/Jaime/Jaime-new.j3o");
-        result.setShadowMode(RenderQueue.ShadowMode.CastAndReceive);
-
-        // Add a 7-second clip to translate Jaime forward during a jump.
-        float fps = 30f;
-        AnimFactory af = new AnimFactory(7f, "JumpForward", fps);
-        af.addTimeTranslation(0f, new Vector3f(0f, 0f, -3f));
-        af.addTimeTranslation(0.35f, new Vector3f(0f, 1f, -1.5f));
-        af.addTimeTranslation(0.7f, new Vector3f());
-        AnimClip forwardClip = af.buildAnimation(result);
-        AnimComposer composer = result.getControl(AnimComposer.class);
-        composer.addAnimClip(forwardClip);
-
-        // Add a 1-second clip to translate Jaime upward during a jump.
-        af = new AnimFactory(1f, "JumpUpward", fps);
-        af.addTimeTranslation(0f, new Vector3f());
-        af.addTimeTranslation(0.7f, new Vector3f(0f, 4f, 0f));
-        AnimClip upClip = af.buildAnimation(result);
-        composer.addAnimClip(upClip);
-
-        return result;
+    private void startCinematic() {
+        tracePhase("start cinematic");
+        this.cinematic = stage.startCinematic();
     }
 
     /**
-     * Set up the Cinematic.
-     *
-     * @param jaime the root of the monkey's C-G model (not null)
-     */
-    private void setupCinematic(final Node jaime) {
-        Node rootNode = application.getRootNode();
-        float duration = 60f; // seconds, overridden by fitDuration()
-        this.cinematic = new Cinematic(rootNode, duration);
-        AnimComposer composer = jaime.getControl(AnimComposer.class);
-        composer.makeLayer("SpatialLayer", null);
-        String boneLayer = AnimComposer.DEFAULT_LAYER;
-
-        AnimEvent idleHalfSecond = new AnimEvent(composer, "Idle", boneLayer);
-        idleHalfSecond.setInitialDuration(0.5f);
-        cinematic.enqueueCinematicEvent(idleHalfSecond);
-        float jumpStart = cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "JumpStart", boneLayer));
-        cinematic.addCinematicEvent(jumpStart + 0.2f,
-                new AnimEvent(composer, "JumpForward", "SpatialLayer"));
-        cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "JumpEnd", boneLayer));
-        cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "Taunt", boneLayer));
-        cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "Punches", boneLayer));
-        cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "SideKick", boneLayer));
-        cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "SideKick", boneLayer));
-        AnimEvent idleOneSecond = new AnimEvent(composer, "Idle", boneLayer);
-        idleOneSecond.setInitialDuration(1f);
-        cinematic.enqueueCinematicEvent(idleOneSecond);
-        cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "Wave", boneLayer));
-        float jumpStart2 = cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "JumpStart", boneLayer));
-        cinematic.addCinematicEvent(jumpStart2 + 0.2f,
-                new AnimEvent(composer, "JumpUpward", boneLayer));
-        cinematic.enqueueCinematicEvent(
-                new AnimEvent(composer, "JumpEnd", boneLayer));
-        AnimEvent idleShort = new AnimEvent(composer, "Idle", boneLayer);
-        idleShort.setInitialDuration(0.2f);
-        cinematic.enqueueCinematicEvent(idleShort);
-
-        cinematic.addListener(new CinematicEventListener() {
-            @Override
-            public void onPlay(CinematicEvent c) {
-                // do nothing
-            }
-
-            @Override
-            public void onPause(CinematicEvent c) {
-                // do nothing
+     * Start the preload threads of the current phase, unless they're already
+     * running.
+     */
+    private void startPreloading() {
+        if (!pool.isStarted()) {
+            tracePhase("start threads");
+            int numCores = Runtime.getRuntime().availableProcessors();
+            int maxThreads = maxPreloaders;
+            if (maxThreads == 0 && (tuning || mode == LoadingMode.Headless)) {
+                maxThreads = numCores; // full parallelism
             }
-
-            @Override
-            public void onStop(CinematicEvent c) {
-                jaime.removeFromParent();
+            if (tuning) {
+                pool.enableTuning(maxThreads);
+            } else if (maxThreads > 0) {
+                pool.setMaxPreloaders(maxThreads);
             }
-        });
-        cinematic.fitDuration();
-        cinematic.setSpeed(1.2f);
-    }
-
-    /**
-     * Construct a geometry for the floor that Jaime lands on.
-     *
-     * @return a new object without a parent
-     */
-    private Geometry setupFloor() {
-        AssetManager assetManager = application.getAssetManager();
-
-        String assetPath = "/Textures/JmePower/powered-by.jpeg";
-        Texture tex = assetManager.loadTexture(assetPath);
-        Material material = MyAsset.createShadedMaterial(assetManager, tex);
-
-        Quad mesh = new Quad(2.2f, 2.2f);
-        Geometry result = new Geometry("floor", mesh);
-        result.rotate(-FastMath.HALF_PI, 0f, 0f);
-        result.center();
-        result.setMaterial(material);
-        result.setShadowMode(RenderQueue.ShadowMode.Receive);
-
-        return result;
+            int numAdditionalThreads = 0;
+            startThreads(numAdditionalThreads);
+        }
     }
 
     /**
-     * Add lights and shadows to the specified scene.
+     * Notify the listeners (including the tracer, if any) of a phase
+     * transition.
      *
-     * @param scene (not null)
+     * @param phaseName the name of the new phase (not null)
      */
-    private void setupLightsAndShadows(Node scene) {
-        this.spotlight = new SpotLight();
-        scene.addLight(spotlight);
-
-        Vector3f position = new Vector3f(1f, 10f, 4f);
-        Vector3f direction = position.normalize().negateLocal();
-        spotlight.setDirection(direction);
-        spotlight.setPosition(position);
-        spotlight.setSpotInnerAngle(0.004f);
-        spotlight.setSpotOuterAngle(0.12f);
-
-        // a PointLight to fake indirect lighting from the ground
-        this.pointLight = new PointLight();
-        scene.addLight(pointLight);
-
-        pointLight.setColor(ColorRGBA.White.mult(1.5f));
-        pointLight.setPosition(Vector3f.UNIT_Z);
-        pointLight.setRadius(2f);
-
-        AssetManager assetManager = application.getAssetManager();
-        this.shadowRenderer = new SpotLightShadowRenderer(assetManager, 512);
-        application.getViewPort().addProcessor(shadowRenderer);
-        shadowRenderer.setEdgeFilteringMode(EdgeFilteringMode.PCF8);
-        shadowRenderer.setLight(spotlight);
-        shadowRenderer.setShadowIntensity(0.5f);
+    private void tracePhase(String phaseName) {
+        for (PreloadListener listener : listeners) {
+            listener.phaseStarted(phaseName);
+        }
     }
 
     /**
-     * Create and attach a Quad to hide what's happening in the main scene.
+     * Preload and disable this state as soon as the work is done, without any
+     * visuals.
      */
-    private void setupShutter() {
-        AssetManager assetManager = application.getAssetManager();
-        Material material = new Material(assetManager, Materials.UNSHADED);
-        material.setColor("Color", new ColorRGBA(0.4f, 0.4f, 0.4f, 1f));
-
-        Camera camera = application.getCamera();
-        Mesh mesh = new Quad(camera.getWidth(), camera.getHeight());
-        this.shutter = new Geometry("shutter", mesh);
-        shutter.setMaterial(material);
+    private void updateHeadless() {
+        startPreloading();
 
-        application.getGuiNode().attachChild(shutter);
+        if (getLatch().getCount() < 1L) {
+            tracePhase("finish");
+            setEnabled(false);
+        }
     }
 
     /**
-     * Set the stage for the Cinematic.
+     * Update the status of the stage and disable this state as soon as the
+     * Cinematic (if any) has completed and the work is done.
      */
-    private void setupStage() {
-        Node rootNode = application.getRootNode();
-        setupLightsAndShadows(rootNode);
-
-        Camera camera = application.getCamera();
-        camera.setLocation(new Vector3f(0f, 1.2f, 2.7f));
-        camera.lookAt(new Vector3f(0f, 0.5f, 0f), Vector3f.UNIT_Y);
-
-        Geometry floor = setupFloor();
-        rootNode.attachChild(floor);
+    private void updateStage() {
+        long latchCount = getLatch().getCount();
+        stage.showProgress(pool, latchCount);
 
-        AssetManager assetManager = application.getAssetManager();
-        BitmapFont font = assetManager.loadFont("Interface/Fonts/Default.fnt");
-        this.textNode = new BitmapText(font);
-        Node guiRootNode = application.getGuiNode();
-        guiRootNode.attachChild(textNode);
-    }
-
-    /**
-     * Set up and play a short Cinematic of Jaime.
-     */
-    private void startCinematic() {
-        Node jaime = loadJaime();
-        application.getRootNode().attachChild(jaime);
-        jaime.move(0f, 0f, -3f);
-        setupCinematic(jaime);
+        if (cinematic != null) {
+            PlayState playState = cinematic.getPlayState();
+            if (playState == PlayState.Paused
+                    || playState == PlayState.Playing) {
+                return;
+            }
+        }
 
-        getStateManager().attach(cinematic);
-        cinematic.play();
+        // The Cinematic (if any) completed or was cancelled by the user.
+        if (latchCount < 1L) {
+            // All asynchronous asset loads have completed.
+            this.shutter = stage.attachShutter();
+            tracePhase("finish");
+            setEnabled(false); // onDisable() detaches the stage
+        }
     }
 }
@@ -0,0 +1,117 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * A Loadable to preload the asset with a specific key and (optionally) pin it
+ * so it remains in memory until the application takes delivery.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class KeyLoadable implements Loadable {
+    // *************************************************************************
+    // fields
+
+    /**
+     * key of the asset to load
+     */
+    final private AssetKey<?> key;
+    /**
+     * pins to add the loaded asset to, or null for none
+     */
+    final private PinnedAssetCache pinCache;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a Loadable for the specified key, without pinning.
+     *
+     * @param key the key of the asset to load (not null, alias created)
+     */
+    public KeyLoadable(AssetKey<?> key) {
+        this(key, null);
+    }
+
+    /**
+     * Instantiate a Loadable for the specified key, pinning the loaded asset
+     * in the specified cache.
+     *
+     * @param key the key of the asset to load (not null, alias created)
+     * @param pinCache the cache to pin the asset in (alias created) or null
+     * for no pinning
+     */
+    public KeyLoadable(AssetKey<?> key, PinnedAssetCache pinCache) {
+        Validate.nonNull(key, "key");
+
+        this.key = key;
+        this.pinCache = pinCache;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Access the key of the asset to load.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public AssetKey<?> getKey() {
+        return key;
+    }
+    // *************************************************************************
+    // Loadable methods
+
+    /**
+     * Load the asset into the AssetCache and pin it, if a cache was specified.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     */
+    @Override
+    public void load(AssetManager assetManager) {
+        Object asset = SingleFlightLoader.load(assetManager, key);
+        if (pinCache != null) {
+            pinCache.pin(key, asset);
+        }
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this Loadable as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = "KeyLoadable[" + key + "]";
+        return result;
+    }
+}
@@ -0,0 +1,554 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetManager;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * Estimate the progress of a preload pool and the time remaining, weighting
+ * each Loadable by its expected cost rather than counting items.
+ * <p>
+ * A Loadable with a recorded past timing is expected to take that long.
+ * Otherwise its cost is its size in bytes times the nanoseconds per byte
+ * observed so far. The size comes from {@link SizedLoadable}, from a manifest
+ * (see {@link #addSizes(PreloadManifest)}), or from the located asset, or else
+ * it's the mean of the known sizes. Located assets are measured a few at a
+ * time on the preload threads, as each Loadable starts. The time remaining
+ * divides the outstanding cost by the parallelism observed so far. Both
+ * outputs are smoothed in {@link #update()}.
+ * <p>
+ * Timings are recorded under the asset key of each KeyLoadable,
+ * FutureLoadable, or ModelLoadable, or else under the description of the
+ * Loadable, if its class provides one.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class LoadEstimator implements PreloadListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * cost per byte assumed before any sized Loadable has finished (in
+     * nanoseconds per byte)
+     */
+    final private static double defaultNanosPerByte = 10.0;
+    /**
+     * weight of the latest estimate in the smoothed outputs
+     */
+    final private static double smoothing = 0.2;
+    /**
+     * size assumed for Loadables of unknown size when none are known (in bytes)
+     */
+    final private static long defaultBytes = 64L * 1024L;
+    /**
+     * maximum number of assets to measure each time a Loadable starts
+     */
+    final private static int measureBatch = 4;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(LoadEstimator.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * for locating assets to measure, or null if preloading hasn't begun
+     */
+    private volatile AssetManager assetManager;
+    /**
+     * smoothed estimate of the time remaining (in seconds)
+     */
+    private double etaSeconds;
+    /**
+     * smoothed fraction of the work done (&ge;0, &le;1)
+     */
+    private double fraction;
+    /**
+     * number of planned Loadables of unknown size
+     */
+    private int numUnsized;
+    /**
+     * number of finished Loadables of unknown size
+     */
+    private int numUnsizedDone;
+    /**
+     * number of planned Loadables
+     */
+    private int numPlanned;
+    /**
+     * number of planned Loadables of known size, excluding those with a past
+     * timing
+     */
+    private int numSized;
+    /**
+     * number of finished Loadables
+     */
+    private int numDone;
+    /**
+     * total size of planned Loadables of known size, excluding those with a
+     * past timing (in bytes)
+     */
+    private long bytesPlanned;
+    /**
+     * total size of finished Loadables of known size, excluding those with a
+     * past timing (in bytes)
+     */
+    private long bytesDone;
+    /**
+     * total size of all finished Loadables of known size (in bytes)
+     */
+    private long bytesObserved;
+    /**
+     * total past timings of planned Loadables (in nanoseconds)
+     */
+    private long historyPlanned;
+    /**
+     * total past timings of finished Loadables (in nanoseconds)
+     */
+    private long historyDone;
+    /**
+     * total time spent in finished Loadables (in nanoseconds)
+     */
+    private long totalLatency;
+    /**
+     * time spent in finished Loadables of known size (in nanoseconds)
+     */
+    private long sizedLatencyNanos;
+    /**
+     * value of System.nanoTime() when the first Loadable started, or 0 if none
+     * has
+     */
+    private long startNanos;
+    /**
+     * planned Loadables of unknown size that are waiting to be measured
+     */
+    final private Queue<Loadable> toMeasure = new ConcurrentLinkedQueue<>();
+    /**
+     * planned Loadables that are counted as unsized but might yet be measured
+     */
+    final private Set<Loadable> unmeasured
+            = Collections.newSetFromMap(new IdentityHashMap<>(16));
+    /**
+     * timings observed during this run, keyed by name (in nanoseconds)
+     */
+    final private Map<String, Long> observed = new ConcurrentHashMap<>();
+    /**
+     * file sizes of assets, keyed by asset path (in bytes)
+     */
+    final private Map<String, Long> sizes = new ConcurrentHashMap<>();
+    /**
+     * past timings, keyed by name (in nanoseconds)
+     */
+    final private Properties history = new Properties();
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add a Loadable to the planned work. Invoked by PreloadPool.
+     *
+     * @param loadable the Loadable to add (not null, unaffected)
+     */
+    synchronized void addPlanned(Loadable loadable) {
+        ++numPlanned;
+        long pastNanos = pastNanos(loadable);
+        long numBytes = sizeOf(loadable);
+        if (pastNanos > 0L) {
+            historyPlanned += pastNanos;
+        } else if (numBytes > 0L) {
+            bytesPlanned += numBytes;
+            ++numSized;
+        } else {
+            ++numUnsized;
+            if (keyOf(loadable) != null) {
+                unmeasured.add(loadable);
+                toMeasure.add(loadable);
+            }
+        }
+    }
+
+    /**
+     * Use the file sizes in the specified manifest for any planned Loadables
+     * with matching asset paths, so they needn't be measured. Invoke before
+     * preloading begins.
+     *
+     * @param manifest the manifest to use (not null, unaffected)
+     */
+    public void addSizes(PreloadManifest manifest) {
+        Validate.nonNull(manifest, "manifest");
+
+        int numEntries = manifest.countEntries();
+        for (int entryIndex = 0; entryIndex < numEntries; ++entryIndex) {
+            String assetPath = manifest.path(entryIndex);
+            sizes.put(assetPath, manifest.size(entryIndex));
+        }
+    }
+
+    /**
+     * Return the smoothed estimate of the time remaining, as of the most
+     * recent update.
+     *
+     * @return the estimate (in seconds, &ge;0)
+     */
+    public synchronized double etaSeconds() {
+        return etaSeconds;
+    }
+
+    /**
+     * Return the smoothed fraction of the work done, as of the most recent
+     * update. It never decreases.
+     *
+     * @return the fraction (&ge;0, &le;1)
+     */
+    public synchronized double fractionDone() {
+        return fraction;
+    }
+
+    /**
+     * Read past timings from the specified file, written by a previous run.
+     * Invoke before preloading begins.
+     *
+     * @param file the file to read (not null)
+     * @throws IOException if the file can't be read
+     */
+    public void readHistory(File file) throws IOException {
+        try (InputStream stream = new FileInputStream(file)) {
+            synchronized (this) {
+                history.load(stream);
+            }
+        }
+    }
+
+    /**
+     * Specify the AssetManager for locating assets to measure. Invoked by
+     * PreloadPool before it starts the threads. Doesn't read anything.
+     *
+     * @param assetManager for locating assets (not null, alias created)
+     */
+    void setAssetManager(AssetManager assetManager) {
+        Validate.nonNull(assetManager, "asset manager");
+        this.assetManager = assetManager;
+    }
+
+    /**
+     * Determine the size of the specified Loadable, if known, without reading
+     * anything.
+     *
+     * @param loadable the Loadable to analyze (not null, unaffected)
+     * @return the size (in bytes) or 0 if unknown
+     */
+    long sizeOf(Loadable loadable) {
+        long result = 0L;
+        if (loadable instanceof SizedLoadable) {
+            result = ((SizedLoadable) loadable).countBytes();
+        } else {
+            AssetKey<?> key = keyOf(loadable);
+            Long known = (key == null) ? null : sizes.get(key.getName());
+            if (known != null) {
+                result = known;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Recompute the estimates and smooth them. Invoke once per frame.
+     */
+    public synchronized void update() {
+        double nanosPerByte = (bytesObserved > 0L)
+                ? sizedLatencyNanos / (double) bytesObserved
+                : defaultNanosPerByte;
+        double meanBytes = (numSized > 0)
+                ? bytesPlanned / (double) numSized : defaultBytes;
+
+        double totalCost = historyPlanned
+                + nanosPerByte * (bytesPlanned + numUnsized * meanBytes);
+        double doneCost = historyDone
+                + nanosPerByte * (bytesDone + numUnsizedDone * meanBytes);
+
+        if (numDone >= numPlanned || totalCost <= 0.0) {
+            this.fraction = 1.0;
+            this.etaSeconds = 0.0;
+            return;
+        }
+
+        double rawFraction = Math.min(doneCost / totalCost, 1.0);
+        if (rawFraction > fraction) { // never move backward
+            fraction += smoothing * (rawFraction - fraction);
+        }
+
+        double parallelism = 1.0;
+        if (startNanos != 0L) {
+            long elapsed = System.nanoTime() - startNanos;
+            if (elapsed > 0L) {
+                parallelism = Math.max(1.0, totalLatency / (double) elapsed);
+            }
+        }
+        double rawEta = 1e-9 * (totalCost - doneCost) / parallelism;
+        etaSeconds += smoothing * (rawEta - etaSeconds);
+    }
+
+    /**
+     * Write the timings observed during this run to the specified file, for
+     * use by a future run.
+     *
+     * @param file the file to write (not null)
+     * @throws IOException if the file can't be written
+     */
+    public void writeHistory(File file) throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Long> entry : observed.entrySet()) {
+            properties.setProperty(
+                    entry.getKey(), Long.toString(entry.getValue()));
+        }
+        try (OutputStream stream = new FileOutputStream(file)) {
+            properties.store(stream, "JmePower preload timings (nanoseconds)");
+        }
+    }
+    // *************************************************************************
+    // PreloadListener methods
+
+    /**
+     * Callback invoked after a Loadable finishes, whether or not it succeeded.
+     *
+     * @param loadable the Loadable that finished (not null)
+     * @param latencyNanos the time spent in the Loadable (in nanoseconds)
+     */
+    @Override
+    public synchronized void loadFinished(
+            Loadable loadable, long latencyNanos) {
+        ++numDone;
+        totalLatency += latencyNanos;
+        String name = nameOf(loadable);
+        if (name != null) {
+            observed.put(name, latencyNanos);
+        }
+
+        long pastNanos = pastNanos(loadable);
+        // A Loadable still counted as unsized must finish as unsized.
+        boolean pending = unmeasured.remove(loadable);
+        long numBytes = pending ? 0L : sizeOf(loadable);
+        if (numBytes > 0L) {
+            bytesObserved += numBytes;
+            sizedLatencyNanos += latencyNanos;
+        }
+        if (pastNanos > 0L) {
+            historyDone += pastNanos;
+        } else if (numBytes > 0L) {
+            bytesDone += numBytes;
+        } else {
+            ++numUnsizedDone;
+        }
+    }
+
+    /**
+     * Callback invoked before a Loadable starts. Also measures a few of the
+     * planned Loadables of unknown size, on the calling thread.
+     *
+     * @param loadable the Loadable about to start (not null)
+     */
+    @Override
+    public void loadStarted(Loadable loadable) {
+        synchronized (this) {
+            if (startNanos == 0L) {
+                this.startNanos = System.nanoTime();
+            }
+        }
+        if (assetManager != null) {
+            measurePending(); // might read, so don't synchronize
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Measure the file size of the specified asset, as reported by its
+     * stream. The streams of files, of JAR entries, and of PackLocator report
+     * the full (uncompressed) size, but others (such as those of UrlLocator)
+     * might report only what's buffered, so tiny results are discarded.
+     *
+     * @param key the key of the asset (not null)
+     * @return the size (in bytes) or 0 if unknown
+     */
+    private long fileBytes(AssetKey<?> key) {
+        long result = 0L;
+        try {
+            AssetInfo info = assetManager.locateAsset(key);
+            if (info != null) {
+                try (InputStream stream = info.openStream()) {
+                    result = stream.available();
+                }
+            }
+        } catch (AssetLoadException | IOException exception) {
+            // The Loadable will report the failure.
+        }
+        if (result <= 1L) { // possibly a partial count
+            result = 0L;
+        }
+
+        return result;
+    }
+
+    /**
+     * Determine which asset the specified Loadable will load.
+     *
+     * @param loadable the Loadable to analyze (not null, unaffected)
+     * @return the key of the asset, or null if unknown
+     */
+    private static AssetKey<?> keyOf(Loadable loadable) {
+        AssetKey<?> result = null;
+        if (loadable instanceof KeyLoadable) {
+            result = ((KeyLoadable) loadable).getKey();
+        } else if (loadable instanceof FutureLoadable) {
+            result = ((FutureLoadable) loadable).getKey();
+        } else if (loadable instanceof ModelLoadable) {
+            result = ((ModelLoadable) loadable).getKey();
+        }
+
+        return result;
+    }
+
+    /**
+     * Determine the size of the specified asset, locating and measuring it if
+     * the size isn't known yet.
+     *
+     * @param key the key of the asset (not null)
+     * @return the size (in bytes) or 0 if unknown
+     */
+    private long measure(AssetKey<?> key) {
+        String assetPath = key.getName();
+        Long known = sizes.get(assetPath);
+        if (known != null) {
+            return known;
+        }
+
+        long result = fileBytes(key);
+        sizes.put(assetPath, result);
+
+        return result;
+    }
+
+    /**
+     * Measure a few of the planned Loadables that are waiting to be measured,
+     * skipping any that have already finished. Invoke without holding the
+     * lock.
+     */
+    private void measurePending() {
+        for (int i = 0; i < measureBatch; ++i) {
+            Loadable loadable = toMeasure.poll();
+            if (loadable == null) {
+                return;
+            }
+            boolean pending;
+            synchronized (this) {
+                pending = unmeasured.contains(loadable);
+            }
+            if (pending) {
+                long numBytes = measure(keyOf(loadable));
+                synchronized (this) {
+                    if (unmeasured.remove(loadable) && numBytes > 0L) {
+                        --numUnsized;
+                        bytesPlanned += numBytes;
+                        ++numSized;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine a name for the timing of the specified Loadable that's stable
+     * from one run to the next.
+     *
+     * @param loadable the Loadable to name (not null, unaffected)
+     * @return the asset key's description, or the Loadable's if its class
+     * provides one, or else null
+     */
+    private static String nameOf(Loadable loadable) {
+        AssetKey<?> key = keyOf(loadable);
+        if (key != null) {
+            String result = key.toString();
+            return result;
+        }
+
+        // Object.toString() includes an identity hash, which varies.
+        String result = null;
+        try {
+            Class<?> declaringClass = loadable.getClass()
+                    .getMethod("toString").getDeclaringClass();
+            if (declaringClass != Object.class) {
+                result = loadable.toString();
+            }
+        } catch (NoSuchMethodException exception) {
+            // every class has a public toString() method
+        }
+
+        return result;
+    }
+
+    /**
+     * Look up the past timing of the specified Loadable.
+     *
+     * @param loadable the Loadable to look up (not null, unaffected)
+     * @return the timing (in nanoseconds) or 0 if unknown
+     */
+    private long pastNanos(Loadable loadable) {
+        String name = nameOf(loadable);
+        String value = (name == null) ? null : history.getProperty(name);
+        long result = 0L;
+        if (value != null) {
+            try {
+                result = Long.parseLong(value.trim());
+            } catch (NumberFormatException exception) {
+                // ignore the malformed entry
+            }
+        }
+
+        return result;
+    }
+}
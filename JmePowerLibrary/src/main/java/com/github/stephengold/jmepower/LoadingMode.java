@@ -0,0 +1,103 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.app.Application;
+import com.jme3.renderer.Caps;
+import com.jme3.renderer.Renderer;
+import com.jme3.system.JmeContext;
+import com.jme3.system.NullRenderer;
+import java.util.EnumSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Enumerate the presentation modes of a JmeLoadingState.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public enum LoadingMode {
+    // *************************************************************************
+    // values
+
+    /**
+     * a 3-D Cinematic of Jaime, with lights and shadows
+     */
+    Cinematic,
+    /**
+     * a GUI-only splash screen: the powered-by texture, a progress bar, and
+     * status text
+     */
+    Minimal,
+    /**
+     * no visuals or input: preload using every core, for dedicated servers
+     * and other headless contexts
+     */
+    Headless;
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(LoadingMode.class.getName());
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Choose a mode suited to the capabilities of the specified application's
+     * hardware. Headless contexts and null renderers get Headless mode. The
+     * Cinematic requires OpenGL v3.0 and at least 4 CPU cores, so that the
+     * render thread doesn't compete with the preloaders.
+     *
+     * @param application the application instance (not null)
+     * @return an enum value (not null)
+     */
+    static LoadingMode select(Application application) {
+        JmeContext context = application.getContext();
+        Renderer renderer = application.getRenderer();
+        EnumSet<Caps> caps = renderer.getCaps();
+        int numCores = Runtime.getRuntime().availableProcessors();
+
+        LoadingMode result;
+        if (context.getType() == JmeContext.Type.Headless
+                || renderer instanceof NullRenderer) {
+            result = Headless;
+        } else if (caps.contains(Caps.OpenGL30) && numCores >= 4) {
+            result = Cinematic;
+        } else {
+            result = Minimal;
+        }
+        if (logger.isLoggable(Level.INFO)) {
+            logger.log(Level.INFO, "Selected {0} mode for {1} cores.",
+                    new Object[]{result, numCores});
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.app.SimpleApplication;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.cinematic.Cinematic;
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapText;
+import com.jme3.material.MatParam;
+import com.jme3.material.MatParamTexture;
+import com.jme3.material.Material;
+import com.jme3.material.Materials;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.Renderer;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.SceneGraphVisitorAdapter;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.shape.Quad;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * The visuals of a loading screen, including status text in the upper-left
+ * corner of the GUI node. Resources are created on first use and kept
+ * resident between loading phases.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+abstract class LoadingStage {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final static Logger logger
+            = Logger.getLogger(LoadingStage.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * display status in the upper-left corner of the GUI node, or null if not
+     * created yet
+     */
+    private BitmapText textNode;
+    /**
+     * camera orientation prior to saveCamera()
+     */
+    private Quaternion savedCameraOrientation;
+    /**
+     * access the AssetManager, camera, and scene graphs
+     */
+    final private SimpleApplication application;
+    /**
+     * camera location prior to saveCamera()
+     */
+    private Vector3f savedCameraLocation;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty stage for the specified application.
+     *
+     * @param application the application instance (not null, alias created)
+     */
+    LoadingStage(SimpleApplication application) {
+        Validate.nonNull(application, "application");
+        this.application = application;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Attach the visuals of this stage, building them on first use.
+     */
+    abstract void attach();
+
+    /**
+     * Create and attach a Quad to hide what's happening in the main scene.
+     *
+     * @return the new Geometry (not null)
+     */
+    Geometry attachShutter() {
+        AssetManager assetManager = application.getAssetManager();
+        Material material = new Material(assetManager, Materials.UNSHADED);
+        material.setColor("Color", new ColorRGBA(0.4f, 0.4f, 0.4f, 1f));
+
+        Camera camera = application.getCamera();
+        Mesh mesh = new Quad(camera.getWidth(), camera.getHeight());
+        Geometry result = new Geometry("shutter", mesh);
+        result.setMaterial(material);
+        application.getGuiNode().attachChild(result);
+
+        return result;
+    }
+
+    /**
+     * Attach the status text, creating it on first use.
+     */
+    void attachText() {
+        if (textNode == null) {
+            AssetManager assetManager = application.getAssetManager();
+            String assetPath = "Interface/Fonts/Default.fnt";
+            BitmapFont font = assetManager.loadFont(assetPath);
+            this.textNode = new BitmapText(font);
+        }
+        application.getGuiNode().attachChild(textNode);
+    }
+
+    /**
+     * Instantiate an empty stage for the specified mode.
+     *
+     * @param mode the presentation mode (not null)
+     * @param application the application instance (not null, alias created)
+     * @return a new stage, or null if the mode has no stage
+     */
+    static LoadingStage create(
+            LoadingMode mode, SimpleApplication application) {
+        LoadingStage result;
+        switch (mode) {
+            case Cinematic:
+                result = new CinematicStage(application);
+                break;
+            case Minimal:
+                result = new SplashStage(application);
+                break;
+            default: // no stage in Headless mode
+                result = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Detach everything that attach() and startCinematic() attached, but keep
+     * the resources resident for reuse. Has no effect on a stage that isn't
+     * attached.
+     */
+    abstract void detach();
+
+    /**
+     * Detach the status text, if it exists.
+     */
+    void detachText() {
+        if (textNode != null) {
+            textNode.removeFromParent();
+        }
+    }
+
+    /**
+     * Access the application.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    SimpleApplication getApplication() {
+        return application;
+    }
+
+    /**
+     * Test whether all resources of this stage are already resident.
+     *
+     * @return true if resident, otherwise false
+     */
+    abstract boolean isResident();
+
+    /**
+     * Delete the native objects of this stage and evict its own assets from
+     * the AssetCache, returning the memory to the application. The stage
+     * must be detached. A later attach() rebuilds it from scratch.
+     * <p>
+     * The default font is kept, since the application's GUI shares it.
+     *
+     * @return the estimated number of bytes released (&ge;0)
+     */
+    long release() {
+        long result = releaseResources();
+        if (logger.isLoggable(Level.INFO)) {
+            logger.log(Level.INFO, "Released {0} KiB of {1} resources.",
+                    new Object[]{result / 1024L, getClass().getSimpleName()});
+        }
+
+        return result;
+    }
+
+    /**
+     * Delete the native objects of the stage-specific resources, evict them
+     * from the AssetCache, and forget them.
+     *
+     * @return the estimated number of bytes released (&ge;0)
+     */
+    abstract long releaseResources();
+
+    /**
+     * Delete the vertex buffers and images of the specified subtree from the
+     * GPU and evict its textures from the AssetCache.
+     *
+     * @param subtree the subtree to release (not null, not attached)
+     * @return the estimated number of bytes released (&ge;0)
+     */
+    long releaseSpatial(Spatial subtree) {
+        long result = AssetSizes.estimateBytes(subtree);
+
+        final Renderer renderer = application.getRenderer();
+        final Set<Object> released
+                = Collections.newSetFromMap(new IdentityHashMap<>());
+        subtree.depthFirstTraversal(new SceneGraphVisitorAdapter() {
+            @Override
+            public void visit(Geometry geometry) {
+                Mesh mesh = geometry.getMesh();
+                for (VertexBuffer buffer : mesh.getBufferList()) {
+                    if (released.add(buffer)) {
+                        renderer.deleteBuffer(buffer);
+                    }
+                }
+
+                Material material = geometry.getMaterial();
+                for (MatParam param : material.getParams()) {
+                    if (param instanceof MatParamTexture) {
+                        Texture texture
+                                = ((MatParamTexture) param).getTextureValue();
+                        releaseTexture(texture, released);
+                    }
+                }
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Restore the camera location and orientation saved by saveCamera().
+     */
+    void restoreCamera() {
+        Camera camera = application.getCamera();
+        camera.setLocation(savedCameraLocation);
+        camera.setRotation(savedCameraOrientation);
+    }
+
+    /**
+     * Save the camera location and orientation, so that the application's
+     * view can be restored after the stage has moved the camera.
+     */
+    void saveCamera() {
+        Camera camera = application.getCamera();
+        this.savedCameraLocation = camera.getLocation().clone();
+        this.savedCameraOrientation = camera.getRotation().clone();
+    }
+
+    /**
+     * Update the status display.
+     *
+     * @param message the text to display (not null)
+     * @param fraction the fraction of the work that's done (&ge;0, &le;1)
+     */
+    abstract void setStatus(String message, float fraction);
+
+    /**
+     * Update the status text and keep it in the upper-left corner of the
+     * display.
+     *
+     * @param message the text to display (not null)
+     */
+    void setText(String message) {
+        Camera camera = application.getCamera();
+        float displayHeight = camera.getHeight();
+        textNode.setLocalTranslation(0f, displayHeight, 0f);
+        textNode.setText(message);
+    }
+
+    /**
+     * Update the progress bar and status text to reflect the specified pool.
+     *
+     * @param pool the pool of the current phase (not null)
+     * @param latchCount the number of preload threads still running (&ge;0)
+     */
+    void showProgress(PreloadPool pool, long latchCount) {
+        LoadEstimator estimator = pool.getEstimator();
+        estimator.update();
+
+        String message;
+        if (latchCount > 0) {
+            int numLoadables = pool.countLoadables();
+            int numDone = pool.countCompleted();
+            long eta = (long) Math.ceil(estimator.etaSeconds());
+            message = String.format("Loaded %d of %d, about %d s left",
+                    numDone, numLoadables, eta);
+        } else {
+            message = "Press [tab] to proceed.";
+        }
+        float fraction = (float) estimator.fractionDone();
+        setStatus(message, fraction);
+    }
+
+    /**
+     * Set up and play a Cinematic to entertain the user, if this stage has
+     * one.
+     *
+     * @return the new Cinematic, or null if none
+     */
+    abstract Cinematic startCinematic();
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Delete the image of the specified texture from the GPU (unless it was
+     * already deleted) and evict the texture from the AssetCache.
+     *
+     * @param texture the texture to release (may be null)
+     * @param released images already deleted (not null, added to)
+     */
+    private void releaseTexture(Texture texture, Set<Object> released) {
+        if (texture == null) {
+            return;
+        }
+
+        Image image = texture.getImage();
+        if (image != null && released.add(image)) {
+            application.getRenderer().deleteImage(image);
+        }
+        AssetKey<?> key = texture.getKey();
+        if (key != null) {
+            application.getAssetManager().deleteFromCache(key);
+        }
+    }
+}
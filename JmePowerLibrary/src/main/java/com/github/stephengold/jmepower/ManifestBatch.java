@@ -0,0 +1,151 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.AssetNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A batch of assets from a PreloadManifest, loaded sequentially by a single
+ * Preloader thread.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class ManifestBatch implements SizedLoadable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(ManifestBatch.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * keys of the assets to load
+     */
+    final private List<AssetKey<?>> keys = new ArrayList<>(8);
+    /**
+     * total file size of the assets (in bytes)
+     */
+    private long totalBytes = 0L;
+    /**
+     * pins to add the loaded assets to, or null for none
+     */
+    final private PinnedAssetCache pinCache;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty batch.
+     *
+     * @param pinCache the cache to pin loaded assets in (alias created) or
+     * null for no pinning
+     */
+    ManifestBatch(PinnedAssetCache pinCache) {
+        this.pinCache = pinCache;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the assets in this batch.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countAssets() {
+        return keys.size();
+    }
+    // *************************************************************************
+    // new package-private methods
+
+    /**
+     * Append an asset to this batch.
+     *
+     * @param key the key of the asset (not null, alias created)
+     * @param fileBytes the file size of the asset (in bytes, &ge;0)
+     */
+    void add(AssetKey<?> key, long fileBytes) {
+        keys.add(key);
+        totalBytes += fileBytes;
+    }
+    // *************************************************************************
+    // SizedLoadable methods
+
+    /**
+     * Return the total file size of the assets in this batch.
+     *
+     * @return the total (in bytes, &ge;0)
+     */
+    @Override
+    public long countBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Load each asset in this batch. Assets that can't be loaded are logged
+     * and skipped.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     */
+    @Override
+    public void load(AssetManager assetManager) {
+        for (AssetKey<?> key : keys) {
+            try {
+                Object asset = SingleFlightLoader.load(assetManager, key);
+                if (pinCache != null) {
+                    pinCache.pin(key, asset);
+                }
+            } catch (AssetLoadException | AssetNotFoundException exception) {
+                logger.log(Level.WARNING, "failed to preload " + key,
+                        exception);
+            }
+        }
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this batch as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = String.format("ManifestBatch[%d assets, %d bytes]",
+                keys.size(), totalBytes);
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.ModelKey;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * A Loadable to preload a model by first discovering the materials, material
+ * definitions, and textures it references, then loading those sub-assets in
+ * parallel on the Preloader threads, and finally loading the model itself,
+ * whose sub-assets are then cache hits.
+ * <p>
+ * While waiting for its sub-assets, the loading thread helps load them. When
+ * not run on a Preloader thread, the sub-assets are loaded sequentially.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class ModelLoadable implements Loadable {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(ModelLoadable.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * key of the model to load
+     */
+    final private ModelKey key;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a Loadable for the specified model.
+     *
+     * @param key the key of the model to preload (not null, alias created)
+     */
+    public ModelLoadable(ModelKey key) {
+        Validate.nonNull(key, "key");
+        this.key = key;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Access the key of the model to load.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public ModelKey getKey() {
+        return key;
+    }
+    // *************************************************************************
+    // Loadable methods
+
+    /**
+     * Load the model's sub-assets in parallel, then the model itself.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     */
+    @Override
+    public void load(AssetManager assetManager) {
+        List<AssetKey<?>> subKeys = new ArrayList<>(8);
+        byte[] modelBytes
+                = AssetReferences.discover(assetManager, key, subKeys);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "{0} references {1} sub-assets",
+                    new Object[]{key, subKeys.size()});
+        }
+
+        List<CompletableFuture<Object>> futures
+                = new ArrayList<>(subKeys.size());
+        for (AssetKey<?> subKey : subKeys) {
+            FutureLoadable subTask = new FutureLoadable(subKey, null);
+            if (Preloader.fork(subTask)) {
+                futures.add(subTask.getFuture());
+            } else {
+                subTask.load(assetManager);
+            }
+        }
+
+        for (CompletableFuture<Object> future : futures) {
+            while (!future.isDone()) {
+                if (!Preloader.helpOnce()) {
+                    awaitQuietly(future);
+                }
+            }
+        }
+
+        if (modelBytes == null) {
+            SingleFlightLoader.load(assetManager, key);
+        } else { // decode the bytes already read, instead of reading again
+            InputStream source = new ByteArrayInputStream(modelBytes);
+            SingleFlightLoader.load(assetManager, key, source);
+        }
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this Loadable as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = "ModelLoadable[" + key + "]";
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Wait for the specified future to complete. Failures were already logged
+     * by the sub-task, and the model load will report them in context.
+     *
+     * @param future the future to wait for (not null)
+     */
+    private static void awaitQuietly(CompletableFuture<Object> future) {
+        try {
+            future.join();
+        } catch (CompletionException exception) {
+            // ignore the failure here
+        }
+    }
+}
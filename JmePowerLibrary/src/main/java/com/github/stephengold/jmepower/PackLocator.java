@@ -0,0 +1,314 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetLocator;
+import com.jme3.asset.AssetManager;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * An AssetLocator to serve assets from a pack file written by the
+ * JmePowerAssets "assetPack" task. The pack is memory-mapped once, and each
+ * asset is served as a zero-copy slice of the mapping, so concurrent Preloader
+ * threads can read assets without opening any files.
+ * <p>
+ * Register it with {@code assetManager.registerLocator(packPath,
+ * PackLocator.class)}, where packPath is the filesystem path to the pack.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PackLocator implements AssetLocator {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * magic number at the start of every pack ("JPAK")
+     */
+    final public static int magicNumber = 0x4A50414B;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(PackLocator.class.getName());
+    /**
+     * the only pack format version currently supported
+     */
+    final public static short formatVersion = 1;
+    /**
+     * map canonical pack paths to mapped packs, shared by all instances
+     */
+    final private static Map<String, Map<String, ByteBuffer>> packMap
+            = new ConcurrentHashMap<>();
+    // *************************************************************************
+    // fields
+
+    /**
+     * map asset paths to read-only slices of the mapped pack
+     */
+    private Map<String, ByteBuffer> entryMap;
+    // *************************************************************************
+    // AssetLocator methods
+
+    /**
+     * Locate the asset with the specified key.
+     *
+     * @param manager the AssetManager that's loading the asset (not null)
+     * @param key the key of the asset (not null)
+     * @return a new AssetInfo, or null if the asset isn't in the pack
+     */
+    @Override
+    public AssetInfo locate(AssetManager manager, AssetKey key) {
+        String assetPath = key.getName();
+        if (assetPath.startsWith("/")) {
+            assetPath = assetPath.substring(1);
+        }
+
+        AssetInfo result = null;
+        ByteBuffer slice = entryMap.get(assetPath);
+        if (slice != null) {
+            result = new PackAssetInfo(manager, key, slice);
+        }
+
+        return result;
+    }
+
+    /**
+     * Map the pack file at the specified filesystem path, if it isn't already
+     * mapped.
+     *
+     * @param rootPath the filesystem path to the pack (not null)
+     */
+    @Override
+    public void setRootPath(String rootPath) {
+        Path path = Paths.get(rootPath).toAbsolutePath().normalize();
+        String canonicalPath = path.toString();
+        synchronized (packMap) {
+            this.entryMap = packMap.get(canonicalPath);
+            if (entryMap == null) {
+                try {
+                    this.entryMap = mapPack(path);
+                } catch (IOException exception) {
+                    throw new AssetLoadException(
+                            "Failed to map pack file: " + rootPath, exception);
+                }
+                packMap.put(canonicalPath, entryMap);
+            }
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Memory-map the specified pack file and slice it into entries.
+     *
+     * @param path the filesystem path to the pack (not null)
+     * @return a new map from asset paths to read-only slices
+     * @throws IOException if the file can't be mapped or isn't a valid pack
+     */
+    private static Map<String, ByteBuffer> mapPack(Path path)
+            throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel
+                = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("pack file exceeds 2 GiB: " + path);
+            }
+            // The mapping remains valid after the channel is closed.
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0L, fileSize);
+        }
+
+        BufferInputStream indexStream
+                = new BufferInputStream(mapped.duplicate());
+        DataInputStream index = new DataInputStream(indexStream);
+        if (index.readInt() != magicNumber) {
+            throw new IOException("not a pack file: " + path);
+        }
+        short version = index.readShort();
+        if (version != formatVersion) {
+            throw new IOException("unsupported pack version " + version);
+        }
+        int alignment = index.readShort();
+        int numEntries = index.readInt();
+
+        String[] assetPaths = new String[numEntries];
+        long[] offsets = new long[numEntries];
+        long[] lengths = new long[numEntries];
+        for (int entryIndex = 0; entryIndex < numEntries; ++entryIndex) {
+            assetPaths[entryIndex] = index.readUTF();
+            offsets[entryIndex] = index.readLong();
+            lengths[entryIndex] = index.readLong();
+        }
+        int indexBytes = mapped.capacity() - indexStream.available();
+        long dataStart = (indexBytes + alignment - 1) & -alignment;
+
+        Map<String, ByteBuffer> result = new HashMap<>(numEntries);
+        for (int entryIndex = 0; entryIndex < numEntries; ++entryIndex) {
+            long start = dataStart + offsets[entryIndex];
+            long end = start + lengths[entryIndex];
+            if (end > mapped.capacity()) {
+                throw new IOException("truncated pack file: " + path);
+            }
+            ByteBuffer slice = mapped.duplicate();
+            slice.limit((int) end);
+            slice.position((int) start);
+            result.put(assetPaths[entryIndex], slice.slice());
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * An InputStream that reads from an independent view of a ByteBuffer.
+     */
+    private static class BufferInputStream extends InputStream {
+        /**
+         * the buffer to read from
+         */
+        final private ByteBuffer buffer;
+
+        /**
+         * Instantiate a stream to read the remaining bytes of the specified
+         * buffer.
+         *
+         * @param buffer the buffer to read from (not null, alias created)
+         */
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Return the number of bytes that remain to be read.
+         *
+         * @return the count (&ge;0)
+         */
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        /**
+         * Read a single byte.
+         *
+         * @return the byte value (&ge;0, &le;255) or -1 at the end of the
+         * buffer
+         */
+        @Override
+        public int read() {
+            int result = buffer.hasRemaining() ? (buffer.get() & 0xff) : -1;
+            return result;
+        }
+
+        /**
+         * Read up to the specified number of bytes into an array.
+         *
+         * @param bytes the destination array (not null, modified)
+         * @param offset the index of the first element to write (&ge;0)
+         * @param length the maximum number of bytes to read (&ge;0)
+         * @return the number of bytes read, or -1 at the end of the buffer
+         */
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            } else if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+
+            return count;
+        }
+
+        /**
+         * Skip over up to the specified number of bytes.
+         *
+         * @param count the desired number of bytes to skip
+         * @return the number of bytes skipped (&ge;0)
+         */
+        @Override
+        public long skip(long count) {
+            int skipCount = (int) Math.max(0L,
+                    Math.min(count, (long) buffer.remaining()));
+            buffer.position(buffer.position() + skipCount);
+
+            return skipCount;
+        }
+    }
+
+    /**
+     * Describe an asset located in a pack file.
+     */
+    private static class PackAssetInfo extends AssetInfo {
+        /**
+         * read-only slice containing the asset's data
+         */
+        final private ByteBuffer slice;
+
+        /**
+         * Instantiate an AssetInfo for the specified slice.
+         *
+         * @param manager the AssetManager (not null)
+         * @param key the key of the asset (not null)
+         * @param slice the asset's data (not null, alias created)
+         */
+        PackAssetInfo(AssetManager manager, AssetKey key, ByteBuffer slice) {
+            super(manager, key);
+            this.slice = slice;
+        }
+
+        /**
+         * Open a new stream to read the asset's data. Streams are independent,
+         * so any number of threads can read the same asset concurrently.
+         *
+         * @return a new stream (not null)
+         */
+        @Override
+        public InputStream openStream() {
+            InputStream result = new BufferInputStream(slice.duplicate());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * Strong references to preloaded assets, to prevent the AssetCache from
+ * discarding them before the application takes delivery.
+ * <p>
+ * Holding a reference to a cloned asset (such as a model or texture) also keeps
+ * the corresponding entry alive in a weak-reference cache. The total size of
+ * the pinned assets is bounded by a budget: when the budget is exceeded, the
+ * least-recently used pins are released.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PinnedAssetCache {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(PinnedAssetCache.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * number of lookups that found a pinned asset
+     */
+    private int hitCount = 0;
+    /**
+     * number of lookups that didn't find a pinned asset
+     */
+    private int missCount = 0;
+    /**
+     * number of pins released to stay within the budget
+     */
+    private int evictionCount = 0;
+    /**
+     * maximum total size of the pinned assets (in bytes)
+     */
+    final private long budgetBytes;
+    /**
+     * total estimated size of the pinned assets (in bytes)
+     */
+    private long pinnedBytes = 0L;
+    /**
+     * map keys to pins, in least-recently accessed order
+     */
+    final private Map<AssetKey<?>, Pin> pinMap
+            = new LinkedHashMap<>(16, 0.75f, true);
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty cache with the specified budget.
+     *
+     * @param budgetBytes the maximum total size of the pinned assets (in
+     * bytes, &gt;0)
+     */
+    public PinnedAssetCache(long budgetBytes) {
+        Validate.require(budgetBytes > 0L, "a positive budget");
+        this.budgetBytes = budgetBytes;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the maximum total size of the pinned assets.
+     *
+     * @return the budget (in bytes, &gt;0)
+     */
+    public long budgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Take delivery of the asset with the specified key, releasing its pin. If
+     * the asset isn't pinned, it is loaded using the specified AssetManager
+     * instead.
+     *
+     * @param assetManager the AssetManager to use on a miss (not null)
+     * @param key the key of the desired asset (not null, unaffected)
+     * @return the asset (not null)
+     */
+    public Object claim(AssetManager assetManager, AssetKey<?> key) {
+        Validate.nonNull(assetManager, "asset manager");
+
+        Object result;
+        synchronized (this) {
+            result = get(key);
+            if (result != null) {
+                release(key);
+            }
+        }
+        if (result == null) {
+            result = assetManager.loadAsset(key);
+        }
+
+        return result;
+    }
+
+    /**
+     * Count the lookups that found a pinned asset.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int countHits() {
+        return hitCount;
+    }
+
+    /**
+     * Count the lookups that didn't find a pinned asset.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int countMisses() {
+        return missCount;
+    }
+
+    /**
+     * Count the pins released to stay within the budget.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int countEvictions() {
+        return evictionCount;
+    }
+
+    /**
+     * Count the assets currently pinned.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int countPinned() {
+        return pinMap.size();
+    }
+
+    /**
+     * Access the pinned asset with the specified key, without releasing it.
+     *
+     * @param key the key to look up (not null, unaffected)
+     * @return the pre-existing asset, or null if not pinned
+     */
+    public synchronized Object get(AssetKey<?> key) {
+        Validate.nonNull(key, "key");
+
+        Object result = null;
+        Pin pin = pinMap.get(key);
+        if (pin == null) {
+            ++missCount;
+        } else {
+            ++hitCount;
+            result = pin.asset;
+        }
+
+        return result;
+    }
+
+    /**
+     * Return the fraction of lookups that found a pinned asset.
+     *
+     * @return the fraction (&ge;0, &le;1) or zero if there were no lookups
+     */
+    public synchronized float hitRate() {
+        int numLookups = hitCount + missCount;
+        float result = (numLookups == 0) ? 0f : hitCount / (float) numLookups;
+
+        return result;
+    }
+
+    /**
+     * Pin the specified asset, releasing least-recently used pins as needed to
+     * stay within the budget. An asset larger than the budget isn't pinned.
+     *
+     * @param key the key of the asset (not null, alias created)
+     * @param asset the asset to pin (may be null, alias created)
+     */
+    public synchronized void pin(AssetKey<?> key, Object asset) {
+        Validate.nonNull(key, "key");
+        if (asset == null) {
+            return;
+        }
+
+        long assetBytes = AssetSizes.estimateBytes(asset);
+        if (assetBytes > budgetBytes) {
+            logger.log(Level.WARNING, "{0} exceeds the pinning budget",
+                    key);
+            return;
+        }
+
+        release(key);
+        pinMap.put(key, new Pin(asset, assetBytes));
+        pinnedBytes += assetBytes;
+
+        Iterator<Pin> iterator = pinMap.values().iterator();
+        while (pinnedBytes > budgetBytes) {
+            Pin eldest = iterator.next();
+            pinnedBytes -= eldest.bytes;
+            iterator.remove();
+            ++evictionCount;
+        }
+    }
+
+    /**
+     * Return the total estimated size of the pinned assets.
+     *
+     * @return the size (in bytes, &ge;0)
+     */
+    public synchronized long pinnedBytes() {
+        return pinnedBytes;
+    }
+
+    /**
+     * Acknowledge delivery of the asset with the specified key, releasing its
+     * pin.
+     *
+     * @param key the key of the asset (not null, unaffected)
+     * @return true if the asset was pinned, otherwise false
+     */
+    public synchronized boolean release(AssetKey<?> key) {
+        Pin pin = pinMap.remove(key);
+        if (pin == null) {
+            return false;
+        } else {
+            pinnedBytes -= pin.bytes;
+            return true;
+        }
+    }
+
+    /**
+     * Release all pins and log the statistics.
+     */
+    public synchronized void releaseAll() {
+        if (logger.isLoggable(Level.INFO)) {
+            String message = String.format(
+                    "%d hits, %d misses (hit rate %.3f), %d evictions",
+                    hitCount, missCount, hitRate(), evictionCount);
+            logger.log(Level.INFO, message);
+        }
+
+        pinMap.clear();
+        this.pinnedBytes = 0L;
+    }
+    // *************************************************************************
+    // Pin class
+
+    /**
+     * A strong reference to an asset, along with its estimated size.
+     */
+    private static class Pin {
+        /**
+         * the pinned asset
+         */
+        final private Object asset;
+        /**
+         * the estimated size of the asset (in bytes)
+         */
+        final private long bytes;
+
+        /**
+         * Instantiate a pin.
+         *
+         * @param asset the asset to pin (not null, alias created)
+         * @param bytes the estimated size of the asset (in bytes, &ge;0)
+         */
+        Pin(Object asset, long bytes) {
+            this.asset = asset;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetManager;
+import com.jme3.audio.AudioKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+
+/**
+ * The I/O stage of a preload pipeline: a Thread that reads the raw bytes of
+ * upcoming assets into pooled buffers and then passes their Loadables to the
+ * decode stage (the Preloaders), which parse the assets from memory.
+ * <p>
+ * The pool of buffers, the total of the buffered bytes, and the decode queue
+ * are all bounded, so the I/O stage blocks while the decode stage is behind.
+ * A buffer returns to the pool when the Loadable that it was read for
+ * finishes, whether or not the Loadable used it. Only the keys of
+ * KeyLoadables and FutureLoadables are prefetched, and large assets are left
+ * for the decode stage to stream.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class Prefetcher extends Thread {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of pooled buffers
+     */
+    final private static int numBuffers = 8;
+    /**
+     * largest capacity retained by a released buffer (in bytes)
+     */
+    final private static int maxRetainedBytes = 1 << 20;
+    /**
+     * largest asset to prefetch (in bytes)
+     */
+    final private static int maxAssetBytes = 4 << 20;
+    /**
+     * maximum total of the prefetched bytes awaiting decoding (in KiB)
+     */
+    final private static int budgetKib = 16 << 10;
+    /**
+     * message logger for this class
+     */
+    final static Logger logger = Logger.getLogger(Prefetcher.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * for locating assets
+     */
+    final private AssetManager assetManager;
+    /**
+     * count Preloaders of the pool that are busy, plus this thread until it
+     * has forwarded every Loadable
+     */
+    final private AtomicInteger numBusy;
+    /**
+     * buffers available for reading
+     */
+    final private BlockingQueue<Buffer> freeBuffers
+            = new ArrayBlockingQueue<>(numBuffers);
+    /**
+     * permits for prefetched bytes awaiting decoding (in KiB)
+     */
+    final private Semaphore budget = new Semaphore(budgetKib);
+    /**
+     * staging area for copying bytes
+     */
+    final private byte[] chunk = new byte[64 << 10];
+    /**
+     * prefetched bytes awaiting decoding, keyed by asset key
+     */
+    final private ConcurrentMap<AssetKey<?>, Buffer> prefetched
+            = new ConcurrentHashMap<>();
+    /**
+     * Loadables to prefetch
+     */
+    final private Queue<Loadable> source;
+    /**
+     * Loadables ready to decode
+     */
+    final private BlockingQueue<Loadable> sink;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an I/O stage between the specified queues. The new thread
+     * counts as busy until it has forwarded every Loadable, so that the
+     * Preloaders wait for it. It's a daemon, so that it can't prevent the
+     * application from exiting.
+     *
+     * @param source the Loadables to prefetch (not null, alias created)
+     * @param sink the bounded queue to forward Loadables to (not null, alias
+     * created)
+     * @param assetManager for locating assets (not null, alias created)
+     * @param numBusy the busy counter of the Preloaders (not null, alias
+     * created)
+     */
+    Prefetcher(Queue<Loadable> source, BlockingQueue<Loadable> sink,
+            AssetManager assetManager, AtomicInteger numBusy) {
+        super("Prefetcher");
+        setDaemon(true);
+        this.source = source;
+        this.sink = sink;
+        this.assetManager = assetManager;
+        this.numBusy = numBusy;
+
+        numBusy.incrementAndGet();
+        for (int bufferIndex = 0; bufferIndex < numBuffers; ++bufferIndex) {
+            freeBuffers.add(new Buffer());
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the buffer read for the specified Loadable to the pool, if the
+     * Loadable finished without taking it. Invoked by the Preloader after each
+     * Loadable.
+     *
+     * @param loadable the Loadable that finished (not null, unaffected)
+     */
+    void finished(Loadable loadable) {
+        AssetKey<?> key = keyOf(loadable);
+        if (key != null) {
+            Buffer unclaimed = prefetched.remove(key);
+            if (unclaimed != null) {
+                unclaimed.release();
+            }
+        }
+    }
+
+    /**
+     * Remove the prefetched bytes of the specified asset, if any. The caller
+     * must release the buffer when done with it.
+     *
+     * @param key the key of the asset (not null)
+     * @return the pre-existing buffer, or null if not prefetched
+     */
+    Buffer take(AssetKey<?> key) {
+        Buffer result = prefetched.remove(key);
+        return result;
+    }
+    // *************************************************************************
+    // Thread methods
+
+    /**
+     * Prefetch and forward Loadables until the source is empty.
+     */
+    @Override
+    public void run() {
+        try {
+            Loadable loadable = source.poll();
+            while (loadable != null) {
+                AssetKey<?> key = keyOf(loadable);
+                if (key != null && !isInterrupted()) {
+                    prefetch(key);
+                }
+                forward(loadable);
+                loadable = source.poll();
+            }
+
+        } finally {
+            // Even if prefetching fails, forward every Loadable.
+            Loadable loadable = source.poll();
+            while (loadable != null) {
+                forward(loadable);
+                loadable = source.poll();
+            }
+            numBusy.decrementAndGet();
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add the specified Loadable to the decode queue, waiting for space if
+     * necessary, even if this thread is interrupted.
+     *
+     * @param loadable the Loadable to forward (not null)
+     */
+    private void forward(Loadable loadable) {
+        boolean interrupted = false;
+        boolean added = false;
+        while (!added) {
+            try {
+                sink.put(loadable); // backpressure
+                added = true;
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            interrupt(); // prefetch no more
+        }
+    }
+
+    /**
+     * Determine which asset the specified Loadable will load.
+     *
+     * @param loadable the Loadable to analyze (not null, unaffected)
+     * @return the key of the asset, or null if it can't be prefetched
+     */
+    private static AssetKey<?> keyOf(Loadable loadable) {
+        AssetKey<?> result = null;
+        if (loadable instanceof KeyLoadable) {
+            result = ((KeyLoadable) loadable).getKey();
+        } else if (loadable instanceof FutureLoadable) {
+            result = ((FutureLoadable) loadable).getKey();
+        }
+
+        if (result instanceof AudioKey && ((AudioKey) result).isStream()) {
+            result = null; // streamed audio must read from the asset itself
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the bytes of the specified asset into a free buffer, unless it's
+     * uncacheable, already cached, already prefetched, or too large.
+     *
+     * @param key the key of the asset (not null)
+     */
+    private void prefetch(AssetKey<?> key) {
+        if (key.getCacheType() == null // decoding would bypass the cache
+                || prefetched.containsKey(key)
+                || assetManager.getFromCache(key) != null) {
+            return;
+        }
+
+        Buffer buffer;
+        try {
+            buffer = freeBuffers.take(); // backpressure
+        } catch (InterruptedException exception) {
+            interrupt(); // prefetch no more
+            return;
+        }
+
+        AssetInfo info = assetManager.locateAsset(key);
+        if (info == null) {
+            buffer.release();
+            return;
+        }
+        boolean success = false;
+        try (InputStream stream = info.openStream()) {
+            success = buffer.readFrom(stream) && buffer.reserve();
+        } catch (AssetLoadException | IOException exception) {
+            // Let the decode stage read the asset and report any failure.
+            logger.log(Level.FINE, "failed to prefetch " + key, exception);
+        }
+
+        if (success) {
+            prefetched.put(key, buffer);
+        } else {
+            buffer.release();
+        }
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * A reusable buffer of prefetched bytes.
+     */
+    final class Buffer extends ByteArrayOutputStream {
+        /**
+         * budget permits held for the buffered bytes (in KiB)
+         */
+        private int numPermits;
+
+        /**
+         * Instantiate an empty buffer.
+         */
+        Buffer() {
+            super(64 << 10);
+        }
+
+        /**
+         * Open a stream to read the buffered bytes. The stream is valid until
+         * the buffer is released.
+         *
+         * @return a new stream
+         */
+        InputStream openStream() {
+            InputStream result = new ByteArrayInputStream(buf, 0, count);
+            return result;
+        }
+
+        /**
+         * Read the specified stream to its end, replacing any buffered bytes,
+         * unless the asset is too large to prefetch.
+         *
+         * @param stream the stream to read (not null)
+         * @return true if read to the end, false if too large
+         * @throws IOException if the stream can't be read
+         */
+        boolean readFrom(InputStream stream) throws IOException {
+            reset();
+            if (stream.available() > maxAssetBytes) {
+                return false;
+            }
+
+            int numRead = stream.read(chunk);
+            while (numRead >= 0) {
+                write(chunk, 0, numRead);
+                if (count > maxAssetBytes) {
+                    return false;
+                }
+                numRead = stream.read(chunk);
+            }
+
+            return true;
+        }
+
+        /**
+         * Return this buffer to the pool, along with its budget permits.
+         */
+        void release() {
+            budget.release(numPermits);
+            this.numPermits = 0;
+            reset();
+            if (buf.length > maxRetainedBytes) {
+                this.buf = new byte[64 << 10];
+            }
+            freeBuffers.add(this);
+        }
+
+        /**
+         * Wait until the budget can accommodate the buffered bytes.
+         *
+         * @return true if reserved, false if this thread was interrupted
+         */
+        boolean reserve() {
+            int kib = (count + 1023) >> 10;
+            try {
+                budget.acquire(kib); // backpressure
+            } catch (InterruptedException exception) {
+                Prefetcher.this.interrupt(); // prefetch no more
+                return false;
+            }
+            this.numPermits = kib;
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.MyString;
+import jme3utilities.Validate;
+
+/**
+ * A named group of Loadables in a PreloadPool, with its own progress and
+ * completion future. Application code can await just the group it needs, such
+ * as "ui" or "level1", instead of the entire pool.
+ * <p>
+ * The future is completed on the Preloader thread that finishes the group's
+ * last member, whether or not every member succeeded.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PreloadGroup implements PreloadListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(PreloadGroup.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * completed when every member has finished
+     */
+    final private CompletableFuture<Void> future = new CompletableFuture<>();
+    /**
+     * number of members that have finished
+     */
+    private int numFinished;
+    /**
+     * total number of members
+     */
+    final private int numMembers;
+    /**
+     * members that haven't finished yet
+     */
+    final private Set<Loadable> pending
+            = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * name of this group
+     */
+    final private String name;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a group with the specified name and members. Invoked by
+     * PreloadPool.
+     *
+     * @param name the name of the group (not null, not empty)
+     * @param members the Loadables in the group (not null)
+     */
+    PreloadGroup(String name, Loadable... members) {
+        Validate.nonEmpty(name, "name");
+
+        this.name = name;
+        for (Loadable member : members) {
+            Validate.nonNull(member, "member");
+            pending.add(member);
+        }
+        this.numMembers = pending.size();
+        if (numMembers == 0) {
+            future.complete(null);
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the members that have finished, successfully or not.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int countFinished() {
+        return numFinished;
+    }
+
+    /**
+     * Count the members of this group.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countMembers() {
+        return numMembers;
+    }
+
+    /**
+     * Return the fraction of members that have finished.
+     *
+     * @return the fraction (&ge;0, &le;1)
+     */
+    public synchronized double fractionDone() {
+        double result = (numMembers == 0)
+                ? 1.0 : numFinished / (double) numMembers;
+        return result;
+    }
+
+    /**
+     * Access the future that completes when every member has finished.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompletableFuture<Void> getFuture() {
+        return future;
+    }
+
+    /**
+     * Return the name of this group.
+     *
+     * @return the name (not null, not empty)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Test whether every member has finished.
+     *
+     * @return true if done, otherwise false
+     */
+    public boolean isDone() {
+        boolean result = future.isDone();
+        return result;
+    }
+    // *************************************************************************
+    // PreloadListener methods
+
+    /**
+     * Callback invoked after a Loadable finishes, whether or not it succeeded.
+     *
+     * @param loadable the Loadable that finished (not null)
+     * @param latencyNanos the time spent in the Loadable (in nanoseconds)
+     */
+    @Override
+    public void loadFinished(Loadable loadable, long latencyNanos) {
+        boolean lastMember;
+        synchronized (this) {
+            if (!pending.remove(loadable)) {
+                return; // not a member of this group
+            }
+            ++numFinished;
+            lastMember = pending.isEmpty();
+        }
+
+        if (lastMember) {
+            if (logger.isLoggable(Level.INFO)) {
+                logger.log(Level.INFO, "group {0} is done",
+                        MyString.quote(name));
+            }
+            future.complete(null);
+        }
+    }
+
+    /**
+     * Callback invoked before a Loadable starts.
+     *
+     * @param loadable the Loadable about to start (unused)
+     */
+    @Override
+    public void loadStarted(Loadable loadable) {
+        // do nothing
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent this group as a text string.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = String.format("PreloadGroup[%s, %d of %d]",
+                MyString.quote(name), countFinished(), numMembers);
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import jme3utilities.Loadable;
+
+/**
+ * Receive notifications from Preloader threads. The methods are invoked on the
+ * Preloader thread that performs the load (except for phaseStarted(), which
+ * is invoked on the render thread), so implementations must be thread-safe
+ * and should return quickly.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public interface PreloadListener {
+    /**
+     * Callback invoked after a Loadable finishes, whether or not it succeeded.
+     *
+     * @param loadable the Loadable that finished (not null)
+     * @param latencyNanos the time spent in the Loadable (in nanoseconds)
+     */
+    void loadFinished(Loadable loadable, long latencyNanos);
+
+    /**
+     * Callback invoked when a running Loadable adds a sub-task to the queue.
+     * The sub-task will be started and finished like any other Loadable.
+     *
+     * @param loadable the added sub-task (not null)
+     */
+    default void loadForked(Loadable loadable) {
+        // do nothing
+    }
+
+    /**
+     * Callback invoked before a Loadable starts.
+     *
+     * @param loadable the Loadable about to start (not null)
+     */
+    void loadStarted(Loadable loadable);
+
+    /**
+     * Callback invoked on the render thread when a JmeLoadingState enters a
+     * new phase of its sequence, such as "setup stage" or "finish".
+     *
+     * @param phaseName the name of the new phase (not null)
+     */
+    default void phaseStarted(String phaseName) {
+        // do nothing
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A list of assets to preload, read from a binary manifest that was compiled
+ * at build time by the JmePowerAssets "preloadManifest" task.
+ * <p>
+ * The manifest format is: the magic number 0x4A504D46 ("JPMF"), a format
+ * version (short), and an entry count (int), followed by the entries. Each
+ * entry consists of an AssetKind code (byte), a file size (long), and an asset
+ * path (modified UTF-8).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PreloadManifest {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * magic number at the start of every manifest
+     */
+    final public static int magicNumber = 0x4A504D46;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(PreloadManifest.class.getName());
+    /**
+     * the only manifest format version currently supported
+     */
+    final public static short formatVersion = 1;
+    // *************************************************************************
+    // fields
+
+    /**
+     * kind of each entry
+     */
+    final private AssetKind[] kinds;
+    /**
+     * file size of each entry (in bytes)
+     */
+    final private long[] sizes;
+    /**
+     * asset path of each entry
+     */
+    final private String[] paths;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a manifest with the specified entries.
+     *
+     * @param kinds the kind of each entry (not null, alias created)
+     * @param sizes the file size of each entry (not null, alias created)
+     * @param paths the asset path of each entry (not null, alias created)
+     */
+    private PreloadManifest(AssetKind[] kinds, long[] sizes, String[] paths) {
+        this.kinds = kinds;
+        this.sizes = sizes;
+        this.paths = paths;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the entries in this manifest.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countEntries() {
+        return paths.length;
+    }
+
+    /**
+     * Read a manifest from the specified classpath resource.
+     *
+     * @param resourcePath the path to the resource (not null, not empty)
+     * @return a new manifest
+     * @throws IOException if the resource can't be found or read
+     */
+    public static PreloadManifest fromResource(String resourcePath)
+            throws IOException {
+        Validate.nonEmpty(resourcePath, "resource path");
+
+        InputStream stream
+                = PreloadManifest.class.getResourceAsStream(resourcePath);
+        if (stream == null) {
+            throw new IOException("resource not found: " + resourcePath);
+        }
+        try {
+            PreloadManifest result = read(stream);
+            return result;
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Return the kind of the indexed entry.
+     *
+     * @param entryIndex the index of the entry (&ge;0)
+     * @return the enum value (not null)
+     */
+    public AssetKind kind(int entryIndex) {
+        return kinds[entryIndex];
+    }
+
+    /**
+     * Partition the entries into batches of similar total size, for
+     * distribution across Preloader threads. Each batch is a Loadable.
+     *
+     * @param numBatches the desired number of batches (&gt;0)
+     * @param pinCache the cache to pin loaded assets in (alias created) or
+     * null for no pinning
+     * @return a new array of batches, largest first
+     */
+    public ManifestBatch[] partition(
+            int numBatches, PinnedAssetCache pinCache) {
+        Validate.positive(numBatches, "number of batches");
+
+        Comparator<ManifestBatch> lighterFirst
+                = new Comparator<ManifestBatch>() {
+            @Override
+            public int compare(ManifestBatch a, ManifestBatch b) {
+                return Long.compare(a.countBytes(), b.countBytes());
+            }
+        };
+        ManifestBatch[] result = new ManifestBatch[numBatches];
+        PriorityQueue<ManifestBatch> batchQueue
+                = new PriorityQueue<>(numBatches, lighterFirst);
+        for (int batchIndex = 0; batchIndex < numBatches; ++batchIndex) {
+            result[batchIndex] = new ManifestBatch(pinCache);
+            batchQueue.add(result[batchIndex]);
+        }
+
+        // Assign each entry (largest first) to the lightest batch so far.
+        Integer[] order = new Integer[paths.length];
+        for (int entryIndex = 0; entryIndex < paths.length; ++entryIndex) {
+            order[entryIndex] = entryIndex;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Long.compare(sizes[b], sizes[a]);
+            }
+        });
+        for (int entryIndex : order) {
+            ManifestBatch lightest = batchQueue.remove();
+            String assetPath = paths[entryIndex];
+            lightest.add(kinds[entryIndex].createKey(assetPath),
+                    sizes[entryIndex]);
+            batchQueue.add(lightest);
+        }
+
+        Arrays.sort(result, Collections.reverseOrder(lighterFirst));
+
+        return result;
+    }
+
+    /**
+     * Return the asset path of the indexed entry.
+     *
+     * @param entryIndex the index of the entry (&ge;0)
+     * @return the path (not null, not empty)
+     */
+    public String path(int entryIndex) {
+        return paths[entryIndex];
+    }
+
+    /**
+     * Read a manifest from the specified stream.
+     *
+     * @param stream the stream to read (not null)
+     * @return a new manifest
+     * @throws IOException if the stream can't be read or isn't a manifest
+     */
+    public static PreloadManifest read(InputStream stream) throws IOException {
+        DataInputStream input
+                = new DataInputStream(new BufferedInputStream(stream));
+        int magic = input.readInt();
+        if (magic != magicNumber) {
+            throw new IOException("not a preload manifest");
+        }
+        short version = input.readShort();
+        if (version != formatVersion) {
+            throw new IOException("unsupported manifest version " + version);
+        }
+
+        int numEntries = input.readInt();
+        if (numEntries < 0) {
+            throw new IOException("corrupt manifest");
+        }
+        AssetKind[] kinds = new AssetKind[numEntries];
+        long[] sizes = new long[numEntries];
+        String[] paths = new String[numEntries];
+        for (int entryIndex = 0; entryIndex < numEntries; ++entryIndex) {
+            int code = input.readUnsignedByte();
+            if (code >= AssetKind.values().length) {
+                throw new IOException("unknown asset kind " + code);
+            }
+            kinds[entryIndex] = AssetKind.fromCode(code);
+            sizes[entryIndex] = input.readLong();
+            paths[entryIndex] = input.readUTF();
+        }
+        PreloadManifest result = new PreloadManifest(kinds, sizes, paths);
+
+        return result;
+    }
+
+    /**
+     * Return the file size of the indexed entry.
+     *
+     * @param entryIndex the index of the entry (&ge;0)
+     * @return the size (in bytes, &ge;0)
+     */
+    public long size(int entryIndex) {
+        return sizes[entryIndex];
+    }
+
+    /**
+     * Return the total file size of all entries.
+     *
+     * @return the total (in bytes, &ge;0)
+     */
+    public long totalBytes() {
+        long result = 0L;
+        for (long size : sizes) {
+            result += size;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.app.Application;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.asset.AssetManager;
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapText;
+import com.jme3.scene.Node;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import com.jme3.texture.Texture2D;
+import com.jme3.texture.image.ColorSpace;
+import com.jme3.ui.Picture;
+import com.jme3.util.BufferUtils;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * A debug overlay for a JmeLoadingState, similar to StatsAppState: for each
+ * preload thread, a scrolling busy/idle timeline and the Loadable in progress,
+ * plus the queue depth and the current throughput.
+ * <p>
+ * All geometry is allocated during initialization. Each frame, the overlay
+ * updates one column of a small texture, and it updates text only when it
+ * changes, so its per-frame cost is negligible.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PreloadOverlay
+        extends BaseAppState
+        implements PreloadListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * texel color for an idle thread (RGBA)
+     */
+    final private static byte[] idleColor = {64, 64, 64, -1};
+    /**
+     * texel color for a busy thread (RGBA)
+     */
+    final private static byte[] busyColor = {0, -1, 0, -1};
+    /**
+     * texel color for a row without a thread (RGBA)
+     */
+    final private static byte[] noColor = {0, 0, 0, 0};
+    /**
+     * interval between throughput samples (in seconds)
+     */
+    final private static float sampleInterval = 0.5f;
+    /**
+     * number of frames in each timeline
+     */
+    final private static int historyLength = 128;
+    /**
+     * maximum number of threads displayed
+     */
+    final private static int maxRows = 8;
+    /**
+     * width of each timeline column (in pixels)
+     */
+    final private static int pixelsPerFrame = 2;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(PreloadOverlay.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * count Loadables that have finished
+     */
+    final private AtomicInteger numFinished = new AtomicInteger();
+    /**
+     * status of each thread, one per row
+     */
+    private BitmapText[] rowTexts;
+    /**
+     * queue depth and throughput
+     */
+    private BitmapText summaryText;
+    /**
+     * texel data of the timelines, in row-major order
+     */
+    final private byte[] texels = new byte[4 * historyLength * maxRows];
+    /**
+     * texel data shared with the Image
+     */
+    final private ByteBuffer texelBuffer
+            = BufferUtils.createByteBuffer(texels.length);
+    /**
+     * time accumulated in the current throughput sample (in seconds)
+     */
+    private float sampleSeconds;
+    /**
+     * timelines of all threads, as a texture
+     */
+    private Image timelineImage;
+    /**
+     * value of numFinished at the start of the current throughput sample
+     */
+    private int sampleFinished;
+    /**
+     * the state being diagnosed
+     */
+    final private JmeLoadingState loading;
+    /**
+     * activity of each thread seen so far, in order of first appearance
+     */
+    final private List<Activity> activities = new CopyOnWriteArrayList<>();
+    /**
+     * parent of all overlay geometry
+     */
+    final private Node overlayNode = new Node("preload overlay");
+    /**
+     * activity currently displayed in each row, or null if none
+     */
+    final private Activity[] shownActivities = new Activity[maxRows];
+    /**
+     * Loadable currently displayed in each row, or null if idle
+     */
+    final private Loadable[] shownLoadables = new Loadable[maxRows];
+    /**
+     * activity of the current thread
+     */
+    final private ThreadLocal<Activity> localActivity = new ThreadLocal<>();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an enabled overlay for the specified state.
+     *
+     * @param loading the state to diagnose (not null, alias created)
+     */
+    public PreloadOverlay(JmeLoadingState loading) {
+        Validate.nonNull(loading, "loading state");
+        this.loading = loading;
+    }
+    // *************************************************************************
+    // BaseAppState methods
+
+    /**
+     * Callback invoked after this AppState is detached or during application
+     * shutdown if the state is still attached. onDisable() is called before
+     * this cleanup() method if the state is enabled at the time of cleanup.
+     *
+     * @param application the application instance (not null)
+     */
+    @Override
+    protected void cleanup(Application application) {
+        loading.removeListener(this);
+    }
+
+    /**
+     * Callback invoked after this AppState is attached but before onEnable().
+     * Attach this state before the loading state (whose initialization
+     * starts preloading), so that no events are missed.
+     *
+     * @param application the application instance (not null)
+     */
+    @Override
+    protected void initialize(Application application) {
+        AssetManager assetManager = application.getAssetManager();
+        BitmapFont font = assetManager.loadFont("Interface/Fonts/Default.fnt");
+        this.summaryText = new BitmapText(font);
+        float lineHeight = summaryText.getLineHeight();
+        float timelinesHeight = maxRows * lineHeight;
+        summaryText.setLocalTranslation(0f, timelinesHeight + lineHeight, 0f);
+        overlayNode.attachChild(summaryText);
+
+        this.rowTexts = new BitmapText[maxRows];
+        float textX = pixelsPerFrame * historyLength + 4f;
+        for (int rowIndex = 0; rowIndex < maxRows; ++rowIndex) {
+            BitmapText text = new BitmapText(font);
+            float y = timelinesHeight - rowIndex * lineHeight;
+            text.setLocalTranslation(textX, y, 0f);
+            overlayNode.attachChild(text);
+            rowTexts[rowIndex] = text;
+        }
+
+        this.timelineImage = new Image(Image.Format.RGBA8, historyLength,
+                maxRows, texelBuffer, ColorSpace.Linear);
+        Texture2D texture = new Texture2D(timelineImage);
+        texture.setMagFilter(Texture.MagFilter.Nearest);
+        texture.setMinFilter(Texture.MinFilter.NearestNoMipMaps);
+        Picture timelines = new Picture("preload timelines");
+        boolean useAlpha = true;
+        timelines.setTexture(assetManager, texture, useAlpha);
+        timelines.setWidth(pixelsPerFrame * historyLength);
+        timelines.setHeight(timelinesHeight);
+        overlayNode.attachChild(timelines);
+
+        // Position the overlay just below the loading screen's status text.
+        float displayHeight = application.getCamera().getHeight();
+        float y = displayHeight - 2f * lineHeight - timelinesHeight;
+        overlayNode.setLocalTranslation(0f, y, 0f);
+
+        loading.addListener(this);
+    }
+
+    /**
+     * Callback invoked whenever this AppState ceases to be both attached and
+     * enabled.
+     */
+    @Override
+    protected void onDisable() {
+        overlayNode.removeFromParent();
+    }
+
+    /**
+     * Callback invoked whenever this AppState becomes both attached and
+     * enabled.
+     */
+    @Override
+    protected void onEnable() {
+        SimpleApplication application = (SimpleApplication) getApplication();
+        application.getGuiNode().attachChild(overlayNode);
+    }
+
+    /**
+     * Callback to update this AppState, invoked once per frame when the
+     * AppState is both attached and enabled.
+     *
+     * @param tpf the time interval between frames (in seconds, &ge;0)
+     */
+    @Override
+    public void update(float tpf) {
+        for (Activity activity : activities) {
+            if (activity.current == null && !activity.thread.isAlive()) {
+                activities.remove(activity);
+            }
+        }
+
+        // Scroll the timelines by one column and fill in the newest column.
+        int rowBytes = 4 * historyLength;
+        for (int rowIndex = 0; rowIndex < maxRows; ++rowIndex) {
+            Activity activity = (rowIndex < activities.size())
+                    ? activities.get(rowIndex) : null;
+            updateText(rowIndex, activity);
+
+            // texel row 0 is displayed at the bottom
+            int start = rowBytes * (maxRows - 1 - rowIndex);
+            System.arraycopy(texels, start + 4, texels, start, rowBytes - 4);
+            byte[] color;
+            if (activity == null) {
+                color = noColor;
+            } else {
+                color = (activity.current == null) ? idleColor : busyColor;
+            }
+            System.arraycopy(color, 0, texels, start + rowBytes - 4, 4);
+        }
+        texelBuffer.clear();
+        texelBuffer.put(texels);
+        texelBuffer.flip();
+        timelineImage.setUpdateNeeded();
+
+        this.sampleSeconds += tpf;
+        if (sampleSeconds >= sampleInterval) {
+            int finished = numFinished.get();
+            float throughput = (finished - sampleFinished) / sampleSeconds;
+            this.sampleFinished = finished;
+            this.sampleSeconds = 0f;
+
+            PreloadPool pool = loading.getPool();
+            int queueDepth = pool.countLoadables() - pool.countStarted();
+            ConcurrencyTuner tuner = pool.getTuner();
+            String allowed = (tuner == null)
+                    ? "" : "   allowed: " + tuner.countAllowed();
+            String summary = String.format(Locale.ROOT,
+                    "queued: %d   throughput: %.1f per second%s",
+                    queueDepth, throughput, allowed);
+            summaryText.setText(summary);
+        }
+    }
+    // *************************************************************************
+    // PreloadListener methods
+
+    /**
+     * Callback invoked after a Loadable finishes.
+     *
+     * @param loadable the Loadable that finished (not null)
+     * @param latencyNanos the time spent in the Loadable (in nanoseconds)
+     */
+    @Override
+    public void loadFinished(Loadable loadable, long latencyNanos) {
+        numFinished.incrementAndGet();
+        activity().finish();
+    }
+
+    /**
+     * Callback invoked before a Loadable starts.
+     *
+     * @param loadable the Loadable about to start (not null)
+     */
+    @Override
+    public void loadStarted(Loadable loadable) {
+        activity().start(loadable);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Access the activity of the current thread, creating it if necessary.
+     *
+     * @return the activity (not null)
+     */
+    private Activity activity() {
+        Activity result = localActivity.get();
+        if (result == null) {
+            result = new Activity(Thread.currentThread());
+            localActivity.set(result);
+            activities.add(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Update the status text of the specified row, if it has changed.
+     *
+     * @param rowIndex the index of the row (&ge;0, &lt;maxRows)
+     * @param activity the activity to display (may be null)
+     */
+    private void updateText(int rowIndex, Activity activity) {
+        Loadable current = (activity == null) ? null : activity.current;
+        if (activity == shownActivities[rowIndex]
+                && current == shownLoadables[rowIndex]) {
+            return;
+        }
+
+        String status;
+        if (activity == null) {
+            status = "";
+        } else {
+            String name = (current == null) ? "idle" : current.toString();
+            status = activity.thread.getName() + ": " + name;
+        }
+        rowTexts[rowIndex].setText(status);
+        shownActivities[rowIndex] = activity;
+        shownLoadables[rowIndex] = current;
+    }
+
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * The activity of a single thread. The stack of Loadables is accessed only
+     * by that thread, while the Loadable in progress is read by the render
+     * thread.
+     */
+    private static class Activity {
+        /**
+         * Loadables in progress, innermost first
+         */
+        final private Deque<Loadable> stack = new ArrayDeque<>();
+        /**
+         * innermost Loadable in progress, or null if idle
+         */
+        private volatile Loadable current;
+        /**
+         * the thread
+         */
+        final private Thread thread;
+
+        /**
+         * Instantiate an idle activity for the specified thread.
+         *
+         * @param thread the thread (not null)
+         */
+        Activity(Thread thread) {
+            this.thread = thread;
+        }
+
+        /**
+         * Note that the innermost Loadable has finished.
+         */
+        void finish() {
+            stack.poll();
+            this.current = stack.peek();
+        }
+
+        /**
+         * Note that a Loadable (possibly nested) has started.
+         *
+         * @param loadable the Loadable (not null)
+         */
+        void start(Loadable loadable) {
+            stack.push(loadable);
+            this.current = loadable;
+        }
+    }
+}
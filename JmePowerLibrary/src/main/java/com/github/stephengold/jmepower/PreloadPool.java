@@ -0,0 +1,581 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.MyString;
+import jme3utilities.Validate;
+
+/**
+ * A queue of Loadables and the Preloader threads that service it.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class PreloadPool {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(PreloadPool.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * count threads that are busy loading, shared by all Preloaders of this
+     * pool
+     */
+    final private AtomicInteger numBusy = new AtomicInteger();
+    /**
+     * count tasks that have finished
+     */
+    final private AtomicInteger numCompleted = new AtomicInteger();
+    /**
+     * count tasks that have started
+     */
+    final private AtomicInteger numStarted = new AtomicInteger();
+    /**
+     * true if any task may fork sub-tasks, otherwise false
+     */
+    private boolean forks;
+    /**
+     * true to read assets on a dedicated I/O thread ahead of the Preloaders,
+     * false to let each Preloader read its own assets
+     */
+    private boolean pipelined = false;
+    /**
+     * share identical content among the loaded assets, or null to skip
+     * deduplication
+     */
+    private ContentDeduplicator deduplicator;
+    /**
+     * convert slow source formats to J3O, or null to load them directly
+     */
+    private ConvertedAssetCache diskCache;
+    /**
+     * decide how many threads may load at once, or null to let all of them
+     * load
+     */
+    private ConcurrencyTuner tuner;
+    /**
+     * monitor how many locally-created threads are running, or null if the
+     * threads haven't been started yet
+     */
+    private CountDownLatch latch;
+    /**
+     * maximum number of locally-created threads
+     */
+    private int maxPreloaders = 2;
+    /**
+     * total number of tasks
+     */
+    private int numLoadables;
+    /**
+     * estimate progress and the time remaining
+     */
+    final private LoadEstimator estimator = new LoadEstimator();
+    /**
+     * pins for submitted assets, or null for no pinning
+     */
+    private PinnedAssetCache pinCache;
+    /**
+     * named groups of tasks
+     */
+    final private Map<String, PreloadGroup> groups
+            = new ConcurrentHashMap<>();
+    /**
+     * listeners to notify about each Loadable
+     */
+    final private List<PreloadListener> listeners
+            = new CopyOnWriteArrayList<>();
+    /**
+     * relay notifications from the threads to the listeners
+     */
+    final private PreloadListener relay = new PreloadListener() {
+        @Override
+        public void loadFinished(Loadable loadable, long latencyNanos) {
+            numCompleted.incrementAndGet();
+            estimator.loadFinished(loadable, latencyNanos);
+            if (tuner != null) {
+                tuner.loadFinished(loadable, latencyNanos);
+            }
+            for (PreloadGroup group : groups.values()) {
+                group.loadFinished(loadable, latencyNanos);
+            }
+            for (PreloadListener listener : listeners) {
+                listener.loadFinished(loadable, latencyNanos);
+            }
+        }
+
+        @Override
+        public void loadForked(Loadable loadable) {
+            countFork(loadable);
+            for (PreloadListener listener : listeners) {
+                listener.loadForked(loadable);
+            }
+        }
+
+        @Override
+        public void loadStarted(Loadable loadable) {
+            numStarted.incrementAndGet();
+            estimator.loadStarted(loadable);
+            if (tuner != null) {
+                tuner.loadStarted(loadable);
+            }
+            for (PreloadListener listener : listeners) {
+                listener.loadStarted(loadable);
+            }
+        }
+    };
+    /**
+     * assets to be preloaded
+     */
+    final private Queue<Loadable> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * warm-up tasks to run when there's nothing to load
+     */
+    final private Queue<Loadable> warmups = new ConcurrentLinkedQueue<>();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a pool to preload the specified assets.
+     *
+     * @param loadables the assets to preload (not null)
+     */
+    public PreloadPool(Loadable... loadables) {
+        for (Loadable loadable : loadables) {
+            add(loadable);
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add an asset to be preloaded. Not allowed after the threads are started.
+     *
+     * @param loadable the asset to preload (not null, alias created)
+     */
+    public synchronized void add(Loadable loadable) {
+        Validate.nonNull(loadable, "loadable");
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+
+        if (loadable instanceof ModelLoadable) {
+            this.forks = true;
+        }
+        estimator.addPlanned(loadable);
+        queue.add(loadable);
+        ++numLoadables;
+    }
+
+    /**
+     * Add a named group of assets to be preloaded. Not allowed after the
+     * threads are started.
+     *
+     * @param name the name of the group (not null, not empty, unique within
+     * this pool)
+     * @param members the assets to preload (not null)
+     * @return a new group
+     */
+    public synchronized PreloadGroup addGroup(
+            String name, Loadable... members) {
+        Validate.nonEmpty(name, "name");
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+        if (groups.containsKey(name)) {
+            throw new IllegalArgumentException(
+                    "Duplicate group name: " + MyString.quote(name));
+        }
+
+        PreloadGroup result = new PreloadGroup(name, members);
+        groups.put(name, result);
+        for (Loadable member : members) {
+            add(member);
+        }
+
+        return result;
+    }
+
+    /**
+     * Add a listener to be notified about each Loadable.
+     *
+     * @param listener the listener to add (not null, alias created)
+     */
+    public void addListener(PreloadListener listener) {
+        Validate.nonNull(listener, "listener");
+        listeners.add(listener);
+    }
+
+    /**
+     * Add a warm-up task, such as a ClassWarmup, to be run by threads with
+     * nothing to load. Warm-ups aren't counted as tasks and don't notify the
+     * listeners. Not allowed after the threads are started.
+     *
+     * @param warmup the warm-up task (not null, alias created)
+     */
+    public synchronized void addWarmup(Loadable warmup) {
+        Validate.nonNull(warmup, "warmup");
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+
+        warmups.add(warmup);
+    }
+
+    /**
+     * Count the tasks that have finished, successfully or not.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countCompleted() {
+        int result = numCompleted.get();
+        return result;
+    }
+
+    /**
+     * Count the tasks added to this pool.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int countLoadables() {
+        return numLoadables;
+    }
+
+    /**
+     * Count the tasks that have started, including those that have finished.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countStarted() {
+        int result = numStarted.get();
+        return result;
+    }
+
+    /**
+     * Share identical images and vertex buffers among the assets loaded by
+     * this pool's threads. Not allowed after the threads are started.
+     *
+     * @return the new deduplicator, for reporting the bytes saved
+     */
+    public synchronized ContentDeduplicator enableDeduplication() {
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+
+        this.deduplicator = new ContentDeduplicator();
+        return deduplicator;
+    }
+
+    /**
+     * Create up to the specified number of threads and let a
+     * ConcurrencyTuner decide how many of them may load at once. Not allowed
+     * after the threads are started.
+     *
+     * @param maxThreads the maximum number of threads (&ge;1)
+     */
+    public synchronized void enableTuning(int maxThreads) {
+        setMaxPreloaders(maxThreads);
+        this.tuner = new ConcurrencyTuner(maxThreads);
+        tuner.setEstimator(estimator);
+    }
+
+    /**
+     * Access the deduplicator.
+     *
+     * @return the pre-existing instance, or null if deduplication isn't
+     * enabled
+     */
+    public synchronized ContentDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
+
+    /**
+     * Access the disk cache.
+     *
+     * @return the pre-existing instance, or null if none
+     */
+    public synchronized ConvertedAssetCache getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Access the latch used to track the completions of the threads.
+     *
+     * @return the pre-existing instance, or null if not started yet
+     */
+    public synchronized CountDownLatch getLatch() {
+        return latch;
+    }
+
+    /**
+     * Access the estimator of progress and the time remaining.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public LoadEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Access the cache that pins submitted assets.
+     *
+     * @return the pre-existing instance, or null if none
+     */
+    public synchronized PinnedAssetCache getPinCache() {
+        return pinCache;
+    }
+
+    /**
+     * Access the concurrency tuner.
+     *
+     * @return the pre-existing instance, or null if tuning isn't enabled
+     */
+    public synchronized ConcurrencyTuner getTuner() {
+        return tuner;
+    }
+
+    /**
+     * Access the named group.
+     *
+     * @param name the name of the group (not null)
+     * @return the pre-existing instance, or null if none
+     */
+    public PreloadGroup getGroup(String name) {
+        PreloadGroup result = groups.get(name);
+        return result;
+    }
+
+    /**
+     * Test whether assets are read on a dedicated I/O thread.
+     *
+     * @return true if pipelined, otherwise false
+     */
+    public synchronized boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Test whether the threads have been started.
+     *
+     * @return true if started, otherwise false
+     */
+    public synchronized boolean isStarted() {
+        boolean result = (latch != null);
+        return result;
+    }
+
+    /**
+     * Specify a disk cache to convert models in slow source formats to J3O
+     * and reuse the conversions in later runs. Not allowed after the threads
+     * are started.
+     *
+     * @param diskCache the disk cache to use (alias created) or null for none
+     */
+    public synchronized void setDiskCache(ConvertedAssetCache diskCache) {
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * Alter the maximum number of threads to create. Not allowed after the
+     * threads are started.
+     *
+     * @param maxThreads the desired maximum (&ge;1, default=2)
+     */
+    public synchronized void setMaxPreloaders(int maxThreads) {
+        Validate.positive(maxThreads, "max threads");
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+
+        this.maxPreloaders = maxThreads;
+    }
+
+    /**
+     * Specify a cache to pin each asset submitted after this method is
+     * invoked, so the AssetCache can't discard it before the application
+     * takes delivery.
+     *
+     * @param pinCache the cache to pin assets in (alias created) or null for
+     * no pinning
+     */
+    public synchronized void setPinCache(PinnedAssetCache pinCache) {
+        this.pinCache = pinCache;
+    }
+
+    /**
+     * Alter whether assets are read on a dedicated I/O thread. When
+     * pipelined, the I/O thread reads the bytes of upcoming assets into a
+     * bounded pool of buffers, and the Preloaders decode them from memory.
+     * Large assets are still read by the Preloaders. Not allowed after the
+     * threads are started.
+     *
+     * @param newSetting true to pipeline, false to let each Preloader read its
+     * own assets (default=false)
+     */
+    public synchronized void setPipelined(boolean newSetting) {
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+
+        this.pipelined = newSetting;
+    }
+
+    /**
+     * Create and start the threads.
+     *
+     * @param assetManager the AssetManager for loading assets (not null, alias
+     * created)
+     * @param numAdditionalThreads the number of threads to be created by the
+     * caller (&ge;0)
+     */
+    public synchronized void start(
+            AssetManager assetManager, int numAdditionalThreads) {
+        Validate.nonNull(assetManager, "asset manager");
+        Validate.nonNegative(
+                numAdditionalThreads, "number of additional threads");
+        if (latch != null) {
+            throw new IllegalStateException("The threads are already started.");
+        }
+
+        // The preload threads will measure assets of unknown size.
+        estimator.setAssetManager(assetManager);
+
+        // Tasks that fork sub-tasks benefit from every thread.
+        int numPreloaders = forks
+                ? maxPreloaders : Math.min(numLoadables, maxPreloaders);
+        if (!warmups.isEmpty()) {
+            numPreloaders = Math.max(1, numPreloaders);
+        }
+        int numThreadsToCreate = numPreloaders + numAdditionalThreads;
+        this.latch = new CountDownLatch(numThreadsToCreate);
+
+        // Start an I/O thread to read assets ahead of the Preloaders.
+        Queue<Loadable> decodeQueue = queue;
+        Prefetcher prefetcher = null;
+        if (pipelined && numPreloaders > 0) {
+            // Bound the queue so the I/O thread can't run far ahead.
+            int capacity = Math.max(8, 2 * numPreloaders);
+            BlockingQueue<Loadable> boundedQueue
+                    = new LinkedBlockingQueue<>(capacity);
+            prefetcher = new Prefetcher(
+                    queue, boundedQueue, assetManager, numBusy);
+            decodeQueue = boundedQueue;
+            prefetcher.setPriority(Thread.MIN_PRIORITY);
+            prefetcher.start();
+        }
+
+        // Start preload threads to warm up the AssetCache.
+        for (int threadIndex = 0; threadIndex < numPreloaders; ++threadIndex) {
+            Preloader thread
+                    = new Preloader(decodeQueue, assetManager, latch, relay);
+            thread.setBusyCounter(numBusy);
+            if (deduplicator != null) {
+                thread.setDeduplicator(deduplicator);
+            }
+            if (diskCache != null) {
+                thread.setDiskCache(diskCache);
+            }
+            if (prefetcher != null) {
+                thread.setPrefetcher(prefetcher);
+            }
+            thread.setWarmups(warmups);
+            if (tuner != null) {
+                thread.setTuner(tuner, threadIndex);
+            }
+            thread.setName("Preloader-" + threadIndex);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+    }
+
+    /**
+     * Remove the specified listener.
+     *
+     * @param listener the listener to remove (unaffected)
+     */
+    public void removeListener(PreloadListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Add an asset to be preloaded and delivered via a CompletableFuture. Not
+     * allowed after the threads are started.
+     *
+     * @param key the key of the asset to preload (not null, alias created)
+     * @param completionExecutor the executor used to complete the future
+     * (alias created) or null to complete it on a Preloader thread
+     * @return a new future for the asset
+     */
+    public CompletableFuture<Object> submit(
+            AssetKey<?> key, Executor completionExecutor) {
+        FutureLoadable loadable = new FutureLoadable(
+                key, completionExecutor, getPinCache());
+        add(loadable);
+        CompletableFuture<Object> result = loadable.getFuture();
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Account for a sub-task added to the queue by a running Loadable. Only
+     * updates counters, since the render thread polls them every frame.
+     *
+     * @param loadable the sub-task (not null, unaffected)
+     */
+    private void countFork(Loadable loadable) {
+        estimator.addPlanned(loadable);
+        synchronized (this) {
+            ++numLoadables;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- Copyright (c) 2020-2022, Stephen Gold
+ Copyright (c) 2020-2026 Stephen Gold
  All rights reserved.
 
  Redistribution and use in source and binary forms, with or without
@@ -26,9 +26,13 @@
  */
 package com.github.stephengold.jmepower;
 
+import com.jme3.asset.AssetKey;
 import com.jme3.asset.AssetManager;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jme3utilities.Loadable;
@@ -42,6 +46,10 @@ public class Preloader extends Thread {
     // *************************************************************************
     // constants and loggers
 
+    /**
+     * longest wait for the I/O stage to forward a Loadable (in milliseconds)
+     */
+    final private static long idleWaitMillis = 20L;
     /**
      * message logger for this class
      */
@@ -58,10 +66,44 @@ public class Preloader extends Thread {
      * notify the creator when done
      */
     final private CountDownLatch completionLatch;
+    /**
+     * share identical content among the loaded assets, or null to skip
+     * deduplication
+     */
+    private ContentDeduplicator deduplicator;
+    /**
+     * convert slow source formats to J3O, or null to load them directly
+     */
+    private ConvertedAssetCache diskCache;
+    /**
+     * decide whether this Preloader may load now, or null to always load
+     */
+    private ConcurrencyTuner tuner;
+    /**
+     * index of this Preloader within its pool, for the tuner
+     */
+    private int threadIndex;
+    /**
+     * the I/O stage that reads ahead for this Preloader, or null if none
+     */
+    private Prefetcher prefetcher;
+    /**
+     * count the Preloaders of the queue that are busy loading, or null to
+     * exit as soon as the queue is empty
+     */
+    private AtomicInteger numBusy;
+    /**
+     * notify about each Loadable, or null for no notifications
+     */
+    final private PreloadListener listener;
     /**
      * things to load
      */
     final private Queue<Loadable> loadables;
+    /**
+     * warm-up tasks to run when there's nothing to load, or null if none
+     */
+    private Queue<Loadable> warmups;
     // *************************************************************************
     // constructors
 
@@ -76,38 +118,372 @@ public class Preloader extends Thread {
      */
     public Preloader(Queue<Loadable> loadables, AssetManager assetManager,
             CountDownLatch completionLatch) {
+        this(loadables, assetManager, completionLatch, null);
+    }
+
+    /**
+     * Instantiate a Thread to load loadables from the specified Queue and
+     * notify the specified listener about each one.
+     *
+     * @param loadables the things to load (not null, alias created)
+     * @param assetManager the AssetManager for loading assets (not null, alias
+     * created)
+     * @param completionLatch to notify the creator when done (not null, alias
+     * created)
+     * @param listener to notify about each Loadable (alias created) or null
+     * for no notifications
+     */
+    public Preloader(Queue<Loadable> loadables, AssetManager assetManager,
+            CountDownLatch completionLatch, PreloadListener listener) {
         this.loadables = loadables;
         this.assetManager = assetManager;
         this.completionLatch = completionLatch;
+        this.listener = listener;
     }
     // *************************************************************************
     // new methods exposed
 
+    /**
+     * Access the deduplicator of the current thread, if it's a Preloader.
+     *
+     * @return the pre-existing instance, or null if none
+     */
+    static ContentDeduplicator currentDeduplicator() {
+        Thread current = Thread.currentThread();
+        if (!(current instanceof Preloader)) {
+            return null;
+        }
+
+        ContentDeduplicator result = ((Preloader) current).deduplicator;
+        return result;
+    }
+
+    /**
+     * Access the disk cache of the current thread, if it's a Preloader.
+     *
+     * @return the pre-existing instance, or null if none
+     */
+    static ConvertedAssetCache currentDiskCache() {
+        Thread current = Thread.currentThread();
+        if (!(current instanceof Preloader)) {
+            return null;
+        }
+
+        ConvertedAssetCache result = ((Preloader) current).diskCache;
+        return result;
+    }
+
+    /**
+     * Add a Loadable to the queue of the current thread, so that any Preloader
+     * servicing that queue can load it. Intended for Loadables that split
+     * their work into parallel sub-tasks. If the queue is bounded and full,
+     * the Loadable is loaded on the current thread instead.
+     *
+     * @param loadable the Loadable to add (not null, alias created)
+     * @return true if added or loaded, false if the current thread isn't a
+     * Preloader
+     */
+    public static boolean fork(Loadable loadable) {
+        Thread current = Thread.currentThread();
+        if (!(current instanceof Preloader)) {
+            return false;
+        }
+
+        Preloader preloader = (Preloader) current;
+        if (preloader.listener != null) {
+            preloader.listener.loadForked(loadable);
+        }
+        if (!preloader.loadables.offer(loadable)) {
+            preloader.loadOne(loadable);
+        }
+
+        return true;
+    }
+
+    /**
+     * While waiting for forked sub-tasks, load one queued Loadable on the
+     * current thread, if it's a Preloader and its queue isn't empty.
+     *
+     * @return true if a Loadable was loaded, otherwise false
+     */
+    public static boolean helpOnce() {
+        Thread current = Thread.currentThread();
+        if (!(current instanceof Preloader)) {
+            return false;
+        }
+
+        Preloader preloader = (Preloader) current;
+        Loadable loadable = preloader.loadables.poll();
+        if (loadable == null) {
+            return false;
+        }
+        preloader.loadOne(loadable);
+
+        return true;
+    }
+
     /**
      * De-queue loadables and load them into the asset cache.
      */
     @Override
     public void run() {
-        Loadable loadable;
-        while (true) {
-            loadable = loadables.poll();
-            if (loadable == null) {
-                break;
+        try {
+            while (true) {
+                if (tuner != null && !tuner.isAllowed(threadIndex)) {
+                    if (!park()) {
+                        break;
+                    }
+
+                } else if (numBusy == null) {
+                    Loadable loadable = loadables.poll();
+                    if (loadable != null) {
+                        loadOne(loadable);
+                    } else if (!warmUpOnce()) {
+                        break;
+                    }
+
+                } else if (!pollShared()) {
+                    break;
+                }
             }
 
-            long startNanos = System.nanoTime();
+        } finally {
+            // Even if a Loadable throws an exception, notify the creator.
+            completionLatch.countDown();
+        }
+    }
+
+    /**
+     * Share the specified busy counter with other Preloaders of the same
+     * queue. A Preloader with a shared counter lingers while the queue is
+     * empty but another Preloader is busy, because a busy Loadable might fork
+     * sub-tasks. Invoke before starting the thread.
+     *
+     * @param counter the counter to use (not null, alias created)
+     */
+    void setBusyCounter(AtomicInteger counter) {
+        this.numBusy = counter;
+    }
+
+    /**
+     * Let the specified deduplicator share identical content among the assets
+     * that this Preloader loads. Invoke before starting the thread.
+     *
+     * @param deduplicator the deduplicator to use (not null, alias created)
+     */
+    void setDeduplicator(ContentDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+    }
+
+    /**
+     * Let the specified disk cache convert the models that this Preloader
+     * loads. Invoke before starting the thread.
+     *
+     * @param diskCache the disk cache to use (not null, alias created)
+     */
+    void setDiskCache(ConvertedAssetCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * Let the specified I/O stage read ahead for this Preloader. The queue of
+     * this Preloader must be the stage's BlockingQueue. Invoke before starting
+     * the thread.
+     *
+     * @param prefetcher the I/O stage to use (not null, alias created)
+     */
+    void setPrefetcher(Prefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    /**
+     * Let the specified tuner decide when this Preloader may load. Invoke
+     * before starting the thread.
+     *
+     * @param tuner the tuner to use (not null, alias created)
+     * @param threadIndex the index of this Preloader within its pool (&ge;0)
+     */
+    void setTuner(ConcurrencyTuner tuner, int threadIndex) {
+        this.tuner = tuner;
+        this.threadIndex = threadIndex;
+    }
+
+    /**
+     * Share the specified queue of warm-up tasks with other Preloaders of the
+     * same pool. Warm-ups run only when there's nothing to load, without
+     * notifying the listener. Invoke before starting the thread.
+     *
+     * @param warmups the warm-up tasks (not null, alias created)
+     */
+    void setWarmups(Queue<Loadable> warmups) {
+        this.warmups = warmups;
+    }
+
+    /**
+     * Remove the prefetched bytes of the specified asset, if the current
+     * thread is a Preloader whose I/O stage has read them. The caller must
+     * release the buffer when done with it.
+     *
+     * @param key the key of the asset (not null)
+     * @return the pre-existing buffer, or null if not prefetched
+     */
+    static Prefetcher.Buffer takePrefetched(AssetKey<?> key) {
+        Thread current = Thread.currentThread();
+        if (!(current instanceof Preloader)) {
+            return null;
+        }
+
+        Prefetcher prefetcher = ((Preloader) current).prefetcher;
+        if (prefetcher == null) {
+            return null;
+        }
+        Prefetcher.Buffer result = prefetcher.take(key);
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Load the specified Loadable, notifying the listener (if any) before and
+     * after.
+     *
+     * @param loadable the Loadable to load (not null)
+     */
+    private void loadOne(Loadable loadable) {
+        if (listener != null) {
+            listener.loadStarted(loadable);
+        }
+        long startNanos = System.nanoTime();
+        try {
             loadable.load(assetManager);
+        } finally {
+            long latencyNanos = System.nanoTime() - startNanos;
+            if (listener != null) {
+                listener.loadFinished(loadable, latencyNanos);
+            }
+            if (prefetcher != null) {
+                prefetcher.finished(loadable);
+            }
+        }
 
-            if (logger.isLoggable(Level.INFO)) {
-                String name = loadable.getClass().getSimpleName();
-                long latencyNanos = System.nanoTime() - startNanos;
-                float seconds = latencyNanos / 1e9f;
-                String message
-                        = String.format("loaded %s in %.6f sec", name, seconds);
-                logger.log(Level.INFO, message);
+        if (logger.isLoggable(Level.INFO)) {
+            String name = loadable.getClass().getSimpleName();
+            long latencyNanos = System.nanoTime() - startNanos;
+            float seconds = latencyNanos / 1e9f;
+            String message = String.format(
+                    "loaded %s in %.6f sec", name, seconds);
+            logger.log(Level.INFO, message);
+        }
+    }
+
+    /**
+     * Wait briefly while the tuner doesn't allow this Preloader to load.
+     *
+     * @return true to continue, false to exit
+     */
+    private boolean park() {
+        if (warmUpOnce()) {
+            return true;
+        }
+        boolean othersBusy = (numBusy != null && numBusy.get() > 0);
+        if (loadables.isEmpty() && !othersBusy) {
+            return false;
+        }
+        try {
+            Thread.sleep(2L);
+        } catch (InterruptedException exception) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Wait for the I/O stage (if any) to forward a Loadable, or for a busy
+     * Preloader to fork one, and then load it.
+     *
+     * @return true to continue, false to exit
+     */
+    private boolean awaitShared() {
+        if (prefetcher == null) {
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException exception) {
+                return false;
+            }
+            return true;
+        }
+
+        // Block on the decode queue, so an idle Preloader doesn't spin.
+        Loadable loadable;
+        try {
+            loadable = ((BlockingQueue<Loadable>) loadables)
+                    .poll(idleWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            return false;
+        }
+        if (loadable != null) {
+            numBusy.incrementAndGet();
+            try {
+                loadOne(loadable);
+            } finally {
+                numBusy.decrementAndGet();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Load one Loadable from the queue, or if the queue is empty, wait briefly
+     * for a busy Preloader to fork sub-tasks.
+     *
+     * @return true to continue, false to exit
+     */
+    private boolean pollShared() {
+        numBusy.incrementAndGet();
+        Loadable loadable = loadables.poll();
+        if (loadable != null) {
+            try {
+                loadOne(loadable);
+            } finally {
+                numBusy.decrementAndGet();
             }
+            return true;
+        }
+
+        int othersBusy = numBusy.decrementAndGet();
+        if (warmUpOnce()) {
+            return true;
+        }
+        if (othersBusy <= 0) {
+            return false;
+        }
+        boolean result = awaitShared();
+
+        return result;
+    }
+
+    /**
+     * Run one warm-up task, if any remain.
+     *
+     * @return true if a task was run, otherwise false
+     */
+    private boolean warmUpOnce() {
+        Loadable warmup = (warmups == null) ? null : warmups.poll();
+        if (warmup == null) {
+            return false;
+        }
+
+        long startNanos = System.nanoTime();
+        warmup.load(assetManager);
+        if (logger.isLoggable(Level.FINE)) {
+            float seconds = (System.nanoTime() - startNanos) / 1e9f;
+            logger.log(Level.FINE, "ran {0} in {1} sec",
+                    new Object[]{warmup, seconds});
         }
 
-        completionLatch.countDown();
+        return true;
     }
 }
@@ -0,0 +1,303 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetLoadException;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.AssetNotFoundException;
+import com.jme3.asset.AssetProcessor;
+import com.jme3.asset.CloneableSmartAsset;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Utility methods to load assets without duplicating work: while one thread
+ * is loading an asset, other threads that request the same key wait for that
+ * load to finish instead of repeating it.
+ * <p>
+ * After waiting, each requester loads the asset from the AssetManager, which
+ * is then a cache hit. Thus each requester gets its own clone of a cloneable
+ * asset, exactly as if it had loaded the asset alone. Loads are shared only
+ * among requesters of the same AssetManager, and never for keys that specify
+ * no cache, since those would gain nothing from waiting.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class SingleFlightLoader {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * count requests that waited for a load already in progress
+     */
+    final private static AtomicLong numDeduplicated = new AtomicLong();
+    /**
+     * loads in progress, keyed by AssetManager and then by asset key
+     */
+    final private static Map<AssetManager,
+            ConcurrentMap<AssetKey<?>, CompletableFuture<Object>>> inFlight
+            = new WeakHashMap<>(4);
+    /**
+     * processor instances, keyed by class
+     */
+    final private static ConcurrentMap<Class<?>, AssetProcessor> processors
+            = new ConcurrentHashMap<>();
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(SingleFlightLoader.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private SingleFlightLoader() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the requests that waited for a load already in progress, instead
+     * of repeating it.
+     *
+     * @return the count since the class was loaded (&ge;0)
+     */
+    public static long countDeduplicated() {
+        long result = numDeduplicated.get();
+        return result;
+    }
+
+    /**
+     * Decode an asset from the specified stream into the AssetCache, then load
+     * it from the cache, exactly as AssetManager.loadAsset() would. Unlike
+     * AssetManager.loadAssetFromStream(), this applies the key's
+     * AssetProcessor, which (for instance) wraps a decoded Image in a Texture.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the asset (not null)
+     * @param stream the asset's encoded content (not null)
+     * @return the loaded asset (may be null)
+     */
+    @SuppressWarnings("unchecked")
+    static Object decode(
+            AssetManager assetManager, AssetKey<?> key, InputStream stream) {
+        AssetKey<Object> objectKey = (AssetKey<Object>) key;
+        Object asset = assetManager.loadAssetFromStream(objectKey, stream);
+        AssetProcessor processor = processor(key);
+        if (processor != null && asset != null) {
+            asset = processor.postProcess(key, asset);
+        }
+        if (asset instanceof CloneableSmartAsset) {
+            ((CloneableSmartAsset) asset).setKey(key);
+        }
+        if (key.getCacheType() == null) {
+            return asset;
+        }
+
+        if (assetManager.getFromCache(objectKey) == null) {
+            assetManager.addToCache(objectKey, asset);
+        }
+        Object result = assetManager.loadAsset(key); // a cache hit
+
+        return result;
+    }
+
+    /**
+     * Load the specified asset, waiting for a concurrent load of the same key
+     * (if any) instead of repeating it. If a pipelined Preloader's I/O stage
+     * has already read the asset's bytes, they are decoded from memory.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the asset to load (not null)
+     * @return the loaded asset (may be null)
+     */
+    public static Object load(AssetManager assetManager, AssetKey<?> key) {
+        Prefetcher.Buffer prefetched = Preloader.takePrefetched(key);
+        try {
+            InputStream source
+                    = (prefetched == null) ? null : prefetched.openStream();
+            Object result = load(assetManager, key, source);
+            return result;
+
+        } finally {
+            if (prefetched != null) {
+                prefetched.release();
+            }
+        }
+    }
+
+    /**
+     * Load the specified asset, waiting for a concurrent load of the same key
+     * by the same AssetManager (if any) instead of repeating it. If this
+     * thread loads the asset and it isn't cached yet, it's decoded from the
+     * specified stream.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the asset to load (not null)
+     * @param source the asset's encoded content, or null to read it
+     * @return the loaded asset (may be null)
+     */
+    static Object load(AssetManager assetManager, AssetKey<?> key,
+            InputStream source) {
+        if (key.getCacheType() == null) { // no cache for waiters to hit
+            Object result = loadLeader(assetManager, key, source);
+            return result;
+        }
+
+        ConcurrentMap<AssetKey<?>, CompletableFuture<Object>> inProgress
+                = loadsInProgress(assetManager);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inProgress.putIfAbsent(key, mine);
+        if (existing != null) {
+            numDeduplicated.incrementAndGet();
+            try {
+                existing.join();
+            } catch (CompletionException exception) {
+                // The load in progress failed, so this one would fail too.
+                Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new AssetLoadException("failed to load " + key, cause);
+            }
+            // A cache hit, unless the other load failed unexpectedly:
+            Object result = assetManager.loadAsset(key);
+            return result;
+        }
+
+        try {
+            Object result = loadLeader(assetManager, key, source);
+            ContentDeduplicator deduplicator = Preloader.currentDeduplicator();
+            if (deduplicator != null) {
+                deduplicator.deduplicate(assetManager, key, result);
+            }
+            mine.complete(result);
+            return result;
+
+        } catch (AssetLoadException | AssetNotFoundException exception) {
+            mine.completeExceptionally(exception);
+            throw exception;
+
+        } finally {
+            inProgress.remove(key, mine);
+            if (!mine.isDone()) {
+                /*
+                 * The load failed with an unexpected exception. Let each
+                 * waiter retry on its own thread, which reproduces the failure
+                 * with its original type and cause.
+                 */
+                mine.complete(null);
+            }
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Load the specified asset on behalf of all requesters: from the disk
+     * cache if there is one and the asset is convertible, otherwise from the
+     * specified stream if the asset isn't cached yet, otherwise via the
+     * AssetManager.
+     *
+     * @param assetManager the AssetManager to use (not null)
+     * @param key the key of the asset to load (not null)
+     * @param source the asset's encoded content, or null to read it
+     * @return the loaded asset (may be null)
+     */
+    private static Object loadLeader(AssetManager assetManager,
+            AssetKey<?> key, InputStream source) {
+        ConvertedAssetCache diskCache = Preloader.currentDiskCache();
+        Object result;
+        if (diskCache != null && diskCache.isConvertible(key)) {
+            result = diskCache.load(assetManager, key, source);
+        } else if (source == null || key.getCacheType() != null
+                && assetManager.getFromCache(key) != null) {
+            result = assetManager.loadAsset(key);
+        } else {
+            result = decode(assetManager, key, source);
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the loads in progress for the specified AssetManager, creating
+     * the map if necessary.
+     *
+     * @param assetManager the AssetManager (not null)
+     * @return the pre-existing or new map (not null)
+     */
+    private static ConcurrentMap<AssetKey<?>, CompletableFuture<Object>>
+            loadsInProgress(AssetManager assetManager) {
+        synchronized (inFlight) {
+            ConcurrentMap<AssetKey<?>, CompletableFuture<Object>> result
+                    = inFlight.get(assetManager);
+            if (result == null) {
+                result = new ConcurrentHashMap<>(16);
+                inFlight.put(assetManager, result);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Access an instance of the specified key's AssetProcessor.
+     *
+     * @param key the key of an asset (not null, unaffected)
+     * @return a shared instance, or null if the key specifies no processor
+     */
+    private static AssetProcessor processor(AssetKey<?> key) {
+        Class<? extends AssetProcessor> type = key.getProcessorType();
+        if (type == null) {
+            return null;
+        }
+
+        AssetProcessor result = processors.get(type);
+        if (result == null) {
+            try {
+                result = type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException exception) {
+                throw new AssetLoadException(
+                        "failed to instantiate " + type, exception);
+            }
+            processors.putIfAbsent(type, result);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import com.jme3.app.SimpleApplication;
+import com.jme3.asset.AssetManager;
+import com.jme3.asset.TextureKey;
+import com.jme3.cinematic.Cinematic;
+import com.jme3.material.Material;
+import com.jme3.material.Materials;
+import com.jme3.math.ColorRGBA;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.shape.Quad;
+import com.jme3.texture.Texture;
+import com.jme3.ui.Picture;
+import java.util.logging.Logger;
+
+/**
+ * A minimal stage for the loading screen that renders only in the GUI node:
+ * the powered-by logo, a progress bar, and status text. No lights, shadows,
+ * or animation, so nearly all CPU and GPU time is left to the preloaders.
+ * <p>
+ * The logo is rendered from a small signed-distance field, so it stays crisp
+ * at any display resolution.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class SplashStage extends LoadingStage {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * height of the progress bar (as a fraction of the logo's height)
+     */
+    final private static float barHeight = 0.04f;
+    /**
+     * message logger for this class
+     */
+    final static Logger logger
+            = Logger.getLogger(SplashStage.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * progress-bar background, or null if not built yet
+     */
+    private Geometry barBackground;
+    /**
+     * progress-bar fill, scaled to the fraction done
+     */
+    private Geometry barFill;
+    /**
+     * the powered-by logo, or null if not built yet
+     */
+    private Picture logo;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty stage for the specified application.
+     *
+     * @param application the application instance (not null, alias created)
+     */
+    SplashStage(SimpleApplication application) {
+        super(application);
+    }
+    // *************************************************************************
+    // LoadingStage methods
+
+    /**
+     * Attach the logo, progress bar, and status text, building them on first
+     * use.
+     */
+    @Override
+    void attach() {
+        if (barBackground == null) {
+            build();
+        }
+
+        Node guiNode = getApplication().getGuiNode();
+        guiNode.attachChild(logo);
+        guiNode.attachChild(barBackground);
+        guiNode.attachChild(barFill);
+        attachText();
+        layout(0f);
+    }
+
+    /**
+     * Detach everything that attach() attached, but keep the resources
+     * resident for reuse. Has no effect on a stage that isn't attached.
+     */
+    @Override
+    void detach() {
+        if (barBackground != null) {
+            logo.removeFromParent();
+            barBackground.removeFromParent();
+            barFill.removeFromParent();
+        }
+        detachText();
+    }
+
+    /**
+     * Test whether all resources of this stage are already resident.
+     *
+     * @return true if resident, otherwise false
+     */
+    @Override
+    boolean isResident() {
+        boolean result = (barBackground != null);
+        return result;
+    }
+
+    /**
+     * Delete the native objects of the logo and the progress bar, evict the
+     * logo's distance map from the AssetCache, and forget them.
+     *
+     * @return the estimated number of bytes released (&ge;0)
+     */
+    @Override
+    long releaseResources() {
+        long result = 0L;
+        if (barBackground != null) {
+            result += releaseSpatial(logo);
+            result += releaseSpatial(barBackground);
+            result += releaseSpatial(barFill);
+
+            this.barBackground = null;
+            this.barFill = null;
+            this.logo = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Update the status display.
+     *
+     * @param message the text to display (not null)
+     * @param fraction the fraction of the work that's done (&ge;0, &le;1)
+     */
+    @Override
+    void setStatus(String message, float fraction) {
+        setText(message);
+        layout(fraction);
+    }
+
+    /**
+     * This stage has no Cinematic.
+     *
+     * @return null
+     */
+    @Override
+    Cinematic startCinematic() {
+        return null;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Create the logo and the progress bar.
+     */
+    private void build() {
+        AssetManager assetManager = getApplication().getAssetManager();
+        this.logo = new Picture("powered-by");
+        String assetPath = "/Textures/JmePower/powered-by-sdf.png";
+        boolean flipY = true;
+        Texture distanceMap
+                = assetManager.loadTexture(new TextureKey(assetPath, flipY));
+        Material material
+                = new Material(assetManager, "MatDefs/JmePower/SdfLogo.j3md");
+        material.setTexture("DistanceMap", distanceMap);
+        logo.setMaterial(material);
+
+        ColorRGBA gray = new ColorRGBA(0.2f, 0.2f, 0.2f, 1f);
+        this.barBackground = buildBar(assetManager, "bar background", gray);
+        this.barFill = buildBar(assetManager, "bar fill", ColorRGBA.White);
+    }
+
+    /**
+     * Construct a unit quad for the progress bar.
+     *
+     * @param assetManager for loading assets (not null)
+     * @param name the name of the geometry (may be null)
+     * @param color the color of the quad (not null, unaffected)
+     * @return a new object without a parent
+     */
+    private static Geometry buildBar(
+            AssetManager assetManager, String name, ColorRGBA color) {
+        Material material = new Material(assetManager, Materials.UNSHADED);
+        material.setColor("Color", color.clone());
+
+        Quad mesh = new Quad(1f, 1f);
+        Geometry result = new Geometry(name, mesh);
+        result.setMaterial(material);
+
+        return result;
+    }
+
+    /**
+     * Center the logo in the display, with the progress bar just below it.
+     *
+     * @param fraction the fraction of the work that's done (&ge;0, &le;1)
+     */
+    private void layout(float fraction) {
+        Camera camera = getApplication().getCamera();
+        float width = camera.getWidth();
+        float height = camera.getHeight();
+        float size = 0.5f * Math.min(width, height);
+        float x = 0.5f * (width - size);
+        float y = 0.5f * (height - size);
+
+        logo.setWidth(size);
+        logo.setHeight(size);
+        logo.setPosition(x, y);
+
+        float barY = y - 2f * barHeight * size;
+        barBackground.setLocalTranslation(x, barY, 0f);
+        barBackground.setLocalScale(size, barHeight * size, 1f);
+        barFill.setLocalTranslation(x, barY, 1f);
+        barFill.setLocalScale(fraction * size, barHeight * size, 1f);
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ Copyright (c) 2026 Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jmepower;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+import jme3utilities.Loadable;
+import jme3utilities.Validate;
+
+/**
+ * Record a timeline of the startup sequence and export it in the Trace Event
+ * Format, which can be viewed using Perfetto or chrome://tracing.
+ * <p>
+ * Each thread records into its own ring buffer, taken from a pool allocated
+ * up front, so recording an event doesn't contend for locks. Event names are
+ * converted to strings as they're recorded, so the tracer doesn't retain the
+ * Loadables it has seen. Each slice's name is converted once, when the slice
+ * begins, and reused when it ends. When a ring fills up, its oldest events are
+ * overwritten, and any end events left without a beginning are dropped during
+ * export.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class StartupTracer implements PreloadListener {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * event type for the beginning of a slice
+     */
+    final private static byte beginType = 'B';
+    /**
+     * event type for the end of a slice
+     */
+    final private static byte endType = 'E';
+    /**
+     * event type for an instantaneous event
+     */
+    final private static byte instantType = 'i';
+    /**
+     * maximum nesting depth of slices whose names are reused when they end
+     */
+    final private static int maxOpenSlices = 32;
+    /**
+     * message logger for this class
+     */
+    final public static Logger logger
+            = Logger.getLogger(StartupTracer.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * capacity of each ring buffer (in events)
+     */
+    final private int eventsPerThread;
+    /**
+     * all rings in use, in order of first use
+     */
+    final private List<Ring> rings = new CopyOnWriteArrayList<>();
+    /**
+     * time origin for the timeline (from System.nanoTime())
+     */
+    final private long originNanos = System.nanoTime();
+    /**
+     * preallocated rings not yet in use
+     */
+    final private Queue<Ring> spareRings = new ConcurrentLinkedQueue<>();
+    /**
+     * the ring buffer of the current thread
+     */
+    final private ThreadLocal<Ring> localRing = new ThreadLocal<>();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a tracer with the specified ring capacity and enough rings
+     * for the render thread, the I/O thread, and a preload thread per core.
+     * The time origin is the moment of instantiation.
+     *
+     * @param eventsPerThread the capacity of each thread's ring buffer (in
+     * events, &gt;0)
+     */
+    public StartupTracer(int eventsPerThread) {
+        this(eventsPerThread, Runtime.getRuntime().availableProcessors() + 2);
+    }
+
+    /**
+     * Instantiate a tracer with the specified ring capacity and number of
+     * preallocated rings. Threads beyond that number allocate their rings on
+     * first use. The time origin is the moment of instantiation.
+     *
+     * @param eventsPerThread the capacity of each thread's ring buffer (in
+     * events, &gt;0)
+     * @param numRings the number of rings to preallocate (&ge;0)
+     */
+    public StartupTracer(int eventsPerThread, int numRings) {
+        Validate.positive(eventsPerThread, "events per thread");
+        Validate.nonNegative(numRings, "number of rings");
+
+        this.eventsPerThread = eventsPerThread;
+        for (int ringIndex = 0; ringIndex < numRings; ++ringIndex) {
+            spareRings.add(new Ring(eventsPerThread));
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Record the beginning of a slice on the current thread.
+     *
+     * @param name the name of the slice (not null, unaffected)
+     */
+    public void begin(Object name) {
+        ring().begin(name);
+    }
+
+    /**
+     * Record the end of a slice on the current thread.
+     *
+     * @param name the name of the slice (not null, unaffected)
+     */
+    public void end(Object name) {
+        ring().end(name);
+    }
+
+    /**
+     * Record an instantaneous event on the current thread.
+     *
+     * @param name the name of the event (not null, unaffected)
+     */
+    public void instant(Object name) {
+        ring().record(instantType, String.valueOf(name));
+    }
+
+    /**
+     * Record the boundary between 2 frames on the current thread, ending the
+     * previous "frame" slice (if any) and beginning a new one.
+     */
+    public void markFrame() {
+        Ring ring = ring();
+        if (ring.frameOpen) {
+            ring.record(endType, "frame");
+        }
+        ring.record(beginType, "frame");
+        ring.frameOpen = true;
+    }
+
+    /**
+     * Write the recorded events to the specified file, in JSON format.
+     *
+     * @param file the file to write (not null)
+     * @throws IOException if the file can't be written
+     */
+    public void writeJson(File file) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writeJson(writer);
+        }
+    }
+
+    /**
+     * Write the recorded events to the specified Writer, in JSON format. To
+     * obtain a consistent snapshot, invoke this method after tracing is done.
+     *
+     * @param writer the Writer to use (not null)
+     * @throws IOException if the Writer fails
+     */
+    public void writeJson(Writer writer) throws IOException {
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        String separator = "\n";
+        for (Ring ring : rings) {
+            writer.write(separator);
+            writer.write(String.format("{\"name\":\"thread_name\",\"ph\":\"M\","
+                    + "\"pid\":1,\"tid\":%d,\"args\":{\"name\":%s}}",
+                    ring.threadId, quote(ring.threadName)));
+            separator = ",\n";
+
+            writeEvents(writer, ring);
+        }
+        writer.write("\n]}\n");
+    }
+    // *************************************************************************
+    // PreloadListener methods
+
+    /**
+     * Callback invoked after a Loadable finishes.
+     *
+     * @param loadable the Loadable that finished (not null)
+     * @param latencyNanos the time spent in the Loadable (in nanoseconds)
+     */
+    @Override
+    public void loadFinished(Loadable loadable, long latencyNanos) {
+        end(loadable);
+    }
+
+    /**
+     * Callback invoked before a Loadable starts.
+     *
+     * @param loadable the Loadable about to start (not null)
+     */
+    @Override
+    public void loadStarted(Loadable loadable) {
+        begin(loadable);
+    }
+
+    /**
+     * Callback invoked when the loading state enters a new phase.
+     *
+     * @param phaseName the name of the new phase (not null)
+     */
+    @Override
+    public void phaseStarted(String phaseName) {
+        instant(phaseName);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Quote the specified text as a JSON string.
+     *
+     * @param text the text to quote (not null)
+     * @return a new string
+     */
+    private static String quote(String text) {
+        StringBuilder result = new StringBuilder(text.length() + 2);
+        result.append('"');
+        int length = text.length();
+        for (int charIndex = 0; charIndex < length; ++charIndex) {
+            char c = text.charAt(charIndex);
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < ' ') {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        result.append('"');
+
+        return result.toString();
+    }
+
+    /**
+     * Access the ring buffer of the current thread, assigning one if
+     * necessary.
+     *
+     * @return the ring (not null)
+     */
+    private Ring ring() {
+        Ring result = localRing.get();
+        if (result == null) {
+            result = spareRings.poll();
+            if (result == null) { // the preallocated rings are all in use
+                result = new Ring(eventsPerThread);
+            }
+            result.assign(Thread.currentThread());
+            localRing.set(result);
+            rings.add(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Write the retained events of the specified ring, each preceded by a
+     * separator.
+     * End events whose beginnings were overwritten are omitted, so every slice
+     * in the output is balanced.
+     *
+     * @param writer the Writer to use (not null)
+     * @param ring the ring to export (not null, unaffected)
+     * @throws IOException if the Writer fails
+     */
+    private void writeEvents(Writer writer, Ring ring) throws IOException {
+        int depth = 0; // number of slices begun but not ended
+        long count = ring.count;
+        long first = Math.max(0L, count - eventsPerThread);
+        for (long eventIndex = first; eventIndex < count; ++eventIndex) {
+            int slot = (int) (eventIndex % eventsPerThread);
+            byte type = ring.types[slot];
+            boolean orphan = (type == endType && depth == 0);
+            if (type == beginType) {
+                ++depth;
+            } else if (type == endType && !orphan) {
+                --depth;
+            }
+
+            if (!orphan) { // its beginning wasn't overwritten
+                double micros = (ring.nanos[slot] - originNanos) / 1000.0;
+                String scope = (type == instantType) ? ",\"s\":\"t\"" : "";
+                writer.write(",\n");
+                writer.write(String.format(Locale.ROOT,
+                        "{\"name\":%s,\"ph\":\"%c\","
+                        + "\"ts\":%.3f,\"pid\":1,\"tid\":%d%s}",
+                        quote(ring.names[slot]), (char) type, micros,
+                        ring.threadId, scope));
+            }
+        }
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * A ring buffer of events recorded by a single thread.
+     */
+    private static class Ring {
+        /**
+         * true if a "frame" slice has begun but not ended
+         */
+        private boolean frameOpen = false;
+        /**
+         * number of slices begun with begin() but not yet ended
+         */
+        private int numOpen = 0;
+        /**
+         * type of each event
+         */
+        final private byte[] types;
+        /**
+         * number of events recorded so far (including overwritten ones)
+         */
+        private volatile long count = 0L;
+        /**
+         * ID of the recording thread
+         */
+        private long threadId;
+        /**
+         * timestamp of each event (from System.nanoTime())
+         */
+        final private long[] nanos;
+        /**
+         * name of each event
+         */
+        final private String[] names;
+        /**
+         * names of the slices begun with begin() but not yet ended, innermost
+         * last
+         */
+        final private String[] openNames = new String[maxOpenSlices];
+        /**
+         * name of the recording thread
+         */
+        private String threadName;
+
+        /**
+         * Instantiate an empty ring, not yet assigned to a thread.
+         *
+         * @param capacity the number of events to retain (&gt;0)
+         */
+        Ring(int capacity) {
+            this.types = new byte[capacity];
+            this.nanos = new long[capacity];
+            this.names = new String[capacity];
+        }
+
+        /**
+         * Assign this ring to the specified thread.
+         *
+         * @param thread the recording thread (not null, unaffected)
+         */
+        void assign(Thread thread) {
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+        }
+
+        /**
+         * Record the beginning of a slice, remembering its name for the end.
+         *
+         * @param name the name of the slice (not null, unaffected)
+         */
+        void begin(Object name) {
+            String text = String.valueOf(name); // don't retain the object
+            if (numOpen < maxOpenSlices) {
+                openNames[numOpen] = text;
+            }
+            ++numOpen;
+            record(beginType, text);
+        }
+
+        /**
+         * Record the end of the innermost slice, reusing the name converted
+         * when it began, if possible.
+         *
+         * @param name the name of the slice (not null, unaffected)
+         */
+        void end(Object name) {
+            String text;
+            if (numOpen > 0 && numOpen <= maxOpenSlices) {
+                --numOpen;
+                text = openNames[numOpen];
+                openNames[numOpen] = null;
+            } else {
+                this.numOpen = Math.max(0, numOpen - 1);
+                text = String.valueOf(name);
+            }
+            record(endType, text);
+        }
+
+        /**
+         * Record an event with the current time.
+         *
+         * @param type the event type
+         * @param name the event name (not null)
+         */
+        void record(byte type, String name) {
+            long index = count;
+            int slot = (int) (index % nanos.length);
+            nanos[slot] = System.nanoTime();
+            types[slot] = type;
+            names[slot] = name;
+            this.count = index + 1L; // publish the event
+        }
+    }
+}
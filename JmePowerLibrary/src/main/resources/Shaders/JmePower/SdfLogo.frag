@@ -0,0 +1,22 @@
+#if defined(GL_ES) && __VERSION__ < 300
+    // fwidth() requires an extension in GLSL ES 1.00
+    #extension GL_OES_standard_derivatives : enable
+#endif
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+uniform sampler2D m_DistanceMap;
+uniform vec4 m_BackgroundColor;
+uniform vec4 m_Color;
+
+varying vec2 texCoord;
+
+void main() {
+    float signedDistance = texture2D(m_DistanceMap, texCoord).r;
+
+    // Blend across about one screen pixel, at any magnification:
+    float halfWidth = 0.7 * fwidth(signedDistance);
+    float coverage
+            = smoothstep(0.5 - halfWidth, 0.5 + halfWidth, signedDistance);
+
+    gl_FragColor = mix(m_BackgroundColor, m_Color, coverage);
+}